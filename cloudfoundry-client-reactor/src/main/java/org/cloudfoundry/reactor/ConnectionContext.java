@@ -48,6 +48,13 @@ public interface ConnectionContext {
      */
     RootProvider getRootProvider();
 
+    /**
+     * The (optional) configuration for uploads
+     */
+    default Optional<UploadConfiguration> getUploadConfiguration() {
+        return Optional.empty();
+    }
+
     /**
      * Attempt to explicitly trust the TLS certificate of an endpoint.  Implementations can choose whether any actual trusting will happen.
      *
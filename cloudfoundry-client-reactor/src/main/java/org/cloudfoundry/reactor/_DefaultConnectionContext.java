@@ -151,6 +151,9 @@ abstract class _DefaultConnectionContext implements ConnectionContext {
         return LoopResources.DEFAULT_IO_WORKER_COUNT;
     }
 
+    @Override
+    public abstract Optional<UploadConfiguration> getUploadConfiguration();
+
     @Override
     public Mono<Void> trust(String host, int port) {
         return getSslCertificateTruster()
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import io.netty.buffer.ByteBuf;
+import org.immutables.value.Value;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.cloudfoundry.util.tuple.TupleUtils.function;
+
+/**
+ * Upload configuration
+ */
+@Value.Immutable
+abstract class _UploadConfiguration {
+
+    private static final int MAXIMUM_BACKOFF_SHIFT = 10;
+
+    /**
+     * Monitors the body of an upload, throttling it to the configured bandwidth and reporting progress to the configured listener
+     *
+     * @param uri        the uri the body is being uploaded to
+     * @param totalBytes the total number of bytes in the body, if known
+     * @return a transformer that monitors the body
+     */
+    public Function<Flux<ByteBuf>, Flux<ByteBuf>> monitor(String uri, Optional<Long> totalBytes) {
+        return body -> Flux.defer(() -> {
+            AtomicLong bytesSent = new AtomicLong();
+            long start = System.nanoTime();
+
+            return body
+                .concatMap(buffer -> throttle(buffer, bytesSent.get(), start))
+                .doOnNext(buffer -> {
+                    long sent = bytesSent.addAndGet(buffer.readableBytes());
+                    getProgressListener().ifPresent(listener -> listener.accept(UploadProgress.builder()
+                        .bytesSent(sent)
+                        .throughput(sent * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(1, System.nanoTime() - start))
+                        .totalBytes(totalBytes)
+                        .uri(uri)
+                        .build()));
+                });
+        });
+    }
+
+    /**
+     * Retries an upload that failed because of a transport error.  Cloud Foundry does not accept partial uploads, so each retry sends the body again from the beginning.
+     *
+     * @param <T> the type of the upload response
+     * @return a transformer that retries the upload
+     */
+    public <T> Function<Mono<T>, Mono<T>> retry() {
+        return upload -> upload
+            .retryWhen(errors -> errors
+                .zipWith(Flux.range(1, Integer.MAX_VALUE))
+                .concatMap(function((error, attempt) -> {
+                    if (!(error instanceof IOException) || attempt > getMaximumRetries()) {
+                        return Mono.<Long>error(error);
+                    }
+
+                    return Mono.delay(getRetryDelay().multipliedBy(1L << Math.min(attempt - 1, MAXIMUM_BACKOFF_SHIFT)));
+                })));
+    }
+
+    /**
+     * The maximum number of bytes per second to upload
+     */
+    abstract Optional<Long> getBandwidth();
+
+    /**
+     * The size of the chunks that files are read in when uploading
+     */
+    @Value.Default
+    Integer getChunkSize() {
+        return 64 * 1024;
+    }
+
+    /**
+     * The maximum number of times an upload that failed because of a transport error is retried
+     */
+    @Value.Default
+    Integer getMaximumRetries() {
+        return 3;
+    }
+
+    /**
+     * A listener notified as each chunk of an upload is sent
+     */
+    abstract Optional<Consumer<UploadProgress>> getProgressListener();
+
+    /**
+     * The delay before the first retry of an upload.  The delay doubles for each subsequent retry.
+     */
+    @Value.Default
+    Duration getRetryDelay() {
+        return Duration.ofSeconds(1);
+    }
+
+    private Mono<ByteBuf> throttle(ByteBuf buffer, long bytesSent, long start) {
+        return getBandwidth()
+            .map(bandwidth -> start + (long) (bytesSent * (double) TimeUnit.SECONDS.toNanos(1) / bandwidth) - System.nanoTime())
+            .filter(delay -> delay > 0)
+            .map(delay -> Mono.delay(Duration.ofNanos(delay)).thenReturn(buffer))
+            .orElse(Mono.just(buffer));
+    }
+
+}
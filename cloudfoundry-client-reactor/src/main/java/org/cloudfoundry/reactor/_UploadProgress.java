@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import org.immutables.value.Value;
+
+import java.util.Optional;
+
+/**
+ * The progress of an upload
+ */
+@Value.Immutable
+abstract class _UploadProgress {
+
+    /**
+     * The number of bytes sent so far
+     */
+    abstract Long getBytesSent();
+
+    /**
+     * The average number of bytes sent per second since the upload started
+     */
+    abstract Double getThroughput();
+
+    /**
+     * The total number of bytes in the upload, if known
+     */
+    abstract Optional<Long> getTotalBytes();
+
+    /**
+     * The uri being uploaded to
+     */
+    abstract String getUri();
+
+}
@@ -19,6 +19,7 @@ package org.cloudfoundry.reactor.client.v2;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.UploadConfiguration;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
@@ -29,6 +30,7 @@ import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 public abstract class AbstractClientV2Operations extends AbstractReactorOperations {
@@ -80,9 +82,10 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
             outbound -> outbound
-                .map(multipartRequest(this.connectionContext.getObjectMapper()))
+                .map(multipartRequest(this.connectionContext.getObjectMapper(), this.connectionContext.getUploadConfiguration()))
                 .transform(requestTransformer),
-            ErrorPayloadMapper.clientV2(this.connectionContext.getObjectMapper()));
+            ErrorPayloadMapper.clientV2(this.connectionContext.getObjectMapper()))
+            .transform(retryUpload(this.connectionContext.getUploadConfiguration()));
     }
 
     protected final <T> Mono<T> put(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
@@ -99,13 +102,14 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
             outbound -> outbound
-                .map(multipartRequest(this.connectionContext.getObjectMapper()))
+                .map(multipartRequest(this.connectionContext.getObjectMapper(), this.connectionContext.getUploadConfiguration()))
                 .transform(requestTransformer),
-            ErrorPayloadMapper.clientV2(this.connectionContext.getObjectMapper()));
+            ErrorPayloadMapper.clientV2(this.connectionContext.getObjectMapper()))
+            .transform(retryUpload(this.connectionContext.getUploadConfiguration()));
     }
 
-    private static Function<HttpClientRequest, MultipartHttpClientRequest> multipartRequest(ObjectMapper objectMapper) {
-        return request -> new MultipartHttpClientRequest(objectMapper, request);
+    private static Function<HttpClientRequest, MultipartHttpClientRequest> multipartRequest(ObjectMapper objectMapper, Optional<UploadConfiguration> uploadConfiguration) {
+        return request -> new MultipartHttpClientRequest(objectMapper, request, uploadConfiguration);
     }
 
     private static Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
@@ -116,4 +120,10 @@ public abstract class AbstractClientV2Operations extends AbstractReactorOperatio
         };
     }
 
+    private static <T> Function<Mono<T>, Mono<T>> retryUpload(Optional<UploadConfiguration> uploadConfiguration) {
+        return upload -> uploadConfiguration
+            .map(configuration -> upload.transform(configuration.<T>retry()))
+            .orElse(upload);
+    }
+
 }
@@ -42,6 +42,7 @@ import org.cloudfoundry.client.v2.applications.ListApplicationServiceBindingsReq
 import org.cloudfoundry.client.v2.applications.ListApplicationServiceBindingsResponse;
 import org.cloudfoundry.client.v2.applications.ListApplicationsRequest;
 import org.cloudfoundry.client.v2.applications.ListApplicationsResponse;
+import org.cloudfoundry.client.v2.applications.Resource;
 import org.cloudfoundry.client.v2.applications.RemoveApplicationRouteRequest;
 import org.cloudfoundry.client.v2.applications.RemoveApplicationServiceBindingRequest;
 import org.cloudfoundry.client.v2.applications.RestageApplicationRequest;
@@ -58,16 +59,17 @@ import org.cloudfoundry.client.v2.applications.UploadApplicationResponse;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.v2.AbstractClientV2Operations;
+import org.cloudfoundry.reactor.util.ByteChannelCodec;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
 import org.cloudfoundry.util.FileUtils;
-import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 
-import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
@@ -119,6 +121,13 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
             .checkpoint();
     }
 
+    @Override
+    public Mono<Void> download(DownloadApplicationRequest request, WritableByteChannel channel) {
+        return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "download"), outbound -> outbound.map(HttpClientRequest::followRedirect))
+            .transform(ByteChannelCodec.write(channel))
+            .checkpoint();
+    }
+
     @Override
     public Flux<byte[]> downloadDroplet(DownloadApplicationDropletRequest request) {
         return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "droplet", "download"), outbound -> outbound.map(HttpClientRequest::followRedirect))
@@ -126,6 +135,13 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
             .checkpoint();
     }
 
+    @Override
+    public Mono<Void> downloadDroplet(DownloadApplicationDropletRequest request, WritableByteChannel channel) {
+        return get(request, builder -> builder.pathSegment("apps", request.getApplicationId(), "droplet", "download"), outbound -> outbound.map(HttpClientRequest::followRedirect))
+            .transform(ByteChannelCodec.write(channel))
+            .checkpoint();
+    }
+
     @Override
     public Mono<ApplicationEnvironmentResponse> environment(ApplicationEnvironmentRequest request) {
         return get(request, ApplicationEnvironmentResponse.class, builder -> builder.pathSegment("apps", request.getApplicationId(), "env"))
@@ -215,21 +231,7 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
     public Mono<UploadApplicationResponse> upload(UploadApplicationRequest request) {
         return put(request, UploadApplicationResponse.class, builder -> builder.pathSegment("apps", request.getApplicationId(), "bits"),
             outbound -> outbound
-                .flatMap(r -> {
-                    if (Files.isDirectory(request.getApplication())) {
-                        return FileUtils.compress(request.getApplication())
-                            .flatMap(application -> upload(application, r, request)
-                                .doOnTerminate(() -> {
-                                    try {
-                                        Files.delete(application);
-                                    } catch (IOException e) {
-                                        throw Exceptions.propagate(e);
-                                    }
-                                }));
-                    } else {
-                        return upload(request.getApplication(), r, request);
-                    }
-                }))
+                .flatMap(r -> upload(r, request)))
             .checkpoint();
     }
 
@@ -241,16 +243,27 @@ public final class ReactorApplicationsV2 extends AbstractClientV2Operations impl
             .checkpoint();
     }
 
-    private Mono<Void> upload(Path application, MultipartHttpClientRequest r, UploadApplicationRequest request) {
+    private Mono<Void> upload(MultipartHttpClientRequest r, UploadApplicationRequest request) {
         return r
             .addPart(part -> part
                 .setContentDispositionFormData("resources")
                 .setHeader(CONTENT_TYPE, APPLICATION_JSON)
                 .send(request.getResources()))
-            .addPart(part -> part
-                .setContentDispositionFormData("application", "application.zip")
-                .setHeader(CONTENT_TYPE, APPLICATION_ZIP)
-                .sendFile(application))
+            .addPart(part -> {
+                part
+                    .setContentDispositionFormData("application", "application.zip")
+                    .setHeader(CONTENT_TYPE, APPLICATION_ZIP);
+
+                if (Files.isDirectory(request.getApplication())) {
+                    Set<String> matchedPaths = request.getResources().stream()
+                        .map(Resource::getPath)
+                        .collect(Collectors.toSet());
+
+                    part.sendStream(out -> FileUtils.compress(request.getApplication(), path -> !matchedPaths.contains(path), out));
+                } else {
+                    part.sendFile(request.getApplication());
+                }
+            })
             .done();
     }
 
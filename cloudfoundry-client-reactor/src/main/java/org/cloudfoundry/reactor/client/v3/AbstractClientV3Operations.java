@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.UploadConfiguration;
 import org.cloudfoundry.reactor.client.QueryBuilder;
 import org.cloudfoundry.reactor.util.AbstractReactorOperations;
 import org.cloudfoundry.reactor.util.ErrorPayloadMapper;
@@ -31,6 +32,7 @@ import reactor.ipc.netty.http.client.HttpClientRequest;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 public abstract class AbstractClientV3Operations extends AbstractReactorOperations {
@@ -96,9 +98,10 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
             outbound -> outbound
-                .map(multipartRequest(this.connectionContext.getObjectMapper()))
+                .map(multipartRequest(this.connectionContext.getObjectMapper(), this.connectionContext.getUploadConfiguration()))
                 .transform(requestTransformer),
-            ErrorPayloadMapper.clientV3(this.connectionContext.getObjectMapper()));
+            ErrorPayloadMapper.clientV3(this.connectionContext.getObjectMapper()))
+            .transform(retryUpload(this.connectionContext.getUploadConfiguration()));
     }
 
     protected final <T> Mono<T> put(Object requestPayload, Class<T> responseType, Function<UriComponentsBuilder, UriComponentsBuilder> uriTransformer) {
@@ -115,9 +118,10 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
             queryTransformer(requestPayload)
                 .andThen(uriTransformer),
             outbound -> outbound
-                .map(multipartRequest(this.connectionContext.getObjectMapper()))
+                .map(multipartRequest(this.connectionContext.getObjectMapper(), this.connectionContext.getUploadConfiguration()))
                 .transform(requestTransformer),
-            ErrorPayloadMapper.clientV3(this.connectionContext.getObjectMapper()));
+            ErrorPayloadMapper.clientV3(this.connectionContext.getObjectMapper()))
+            .transform(retryUpload(this.connectionContext.getUploadConfiguration()));
     }
 
     private static String extractJobId(HttpClientResponse response) {
@@ -125,8 +129,8 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
         return pathSegments.get(pathSegments.size() - 1);
     }
 
-    private static Function<HttpClientRequest, MultipartHttpClientRequest> multipartRequest(ObjectMapper objectMapper) {
-        return request -> new MultipartHttpClientRequest(objectMapper, request);
+    private static Function<HttpClientRequest, MultipartHttpClientRequest> multipartRequest(ObjectMapper objectMapper, Optional<UploadConfiguration> uploadConfiguration) {
+        return request -> new MultipartHttpClientRequest(objectMapper, request, uploadConfiguration);
     }
 
     private static Function<UriComponentsBuilder, UriComponentsBuilder> queryTransformer(Object requestPayload) {
@@ -137,4 +141,10 @@ public abstract class AbstractClientV3Operations extends AbstractReactorOperatio
         };
     }
 
+    private static <T> Function<Mono<T>, Mono<T>> retryUpload(Optional<UploadConfiguration> uploadConfiguration) {
+        return upload -> uploadConfiguration
+            .map(configuration -> upload.transform(configuration.<T>retry()))
+            .orElse(upload);
+    }
+
 }
@@ -34,6 +34,7 @@ import org.cloudfoundry.client.v3.packages.UploadPackageResponse;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+import org.cloudfoundry.reactor.util.ByteChannelCodec;
 import org.cloudfoundry.reactor.util.MultipartHttpClientRequest;
 import org.cloudfoundry.util.FileUtils;
 import reactor.core.Exceptions;
@@ -41,6 +42,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -87,6 +89,13 @@ public final class ReactorPackages extends AbstractClientV3Operations implements
             .checkpoint();
     }
 
+    @Override
+    public Mono<Void> download(DownloadPackageRequest request, WritableByteChannel channel) {
+        return get(request, builder -> builder.pathSegment("packages", request.getPackageId(), "download"))
+            .transform(ByteChannelCodec.write(channel))
+            .checkpoint();
+    }
+
     @Override
     public Mono<GetPackageResponse> get(GetPackageRequest request) {
         return get(request, GetPackageResponse.class, builder -> builder.pathSegment("packages", request.getPackageId()))
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.logcache.v1;
+
+import org.cloudfoundry.logcache.v1.MetaRequest;
+import org.cloudfoundry.logcache.v1.MetaResponse;
+import org.cloudfoundry.logcache.v1.QueryRangeRequest;
+import org.cloudfoundry.logcache.v1.QueryRequest;
+import org.cloudfoundry.logcache.v1.QueryResponse;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.util.AbstractReactorOperations;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+final class ReactorLogCacheEndpoints extends AbstractReactorOperations {
+
+    ReactorLogCacheEndpoints(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider) {
+        super(connectionContext, root, tokenProvider);
+    }
+
+    Mono<MetaResponse> meta(MetaRequest request) {
+        return doGet(MetaResponse.class, builder -> builder.pathSegment("api", "v1", "meta"), outbound -> outbound, inbound -> inbound)
+            .checkpoint();
+    }
+
+    Mono<QueryResponse> query(QueryRequest request) {
+        return doGet(QueryResponse.class, builder -> query(builder.pathSegment("api", "v1", "query"), request), outbound -> outbound, inbound -> inbound)
+            .checkpoint();
+    }
+
+    Mono<QueryResponse> queryRange(QueryRangeRequest request) {
+        return doGet(QueryResponse.class, builder -> queryRange(builder.pathSegment("api", "v1", "query_range"), request), outbound -> outbound, inbound -> inbound)
+            .checkpoint();
+    }
+
+    Mono<ReadResponse> read(ReadRequest request) {
+        return doGet(ReadResponse.class, builder -> read(builder.pathSegment("api", "v1", "read", request.getSourceId()), request), outbound -> outbound, inbound -> inbound)
+            .checkpoint();
+    }
+
+    private static UriComponentsBuilder query(UriComponentsBuilder builder, QueryRequest request) {
+        builder.queryParam("query", request.getQuery());
+        Optional.ofNullable(request.getTime()).ifPresent(time -> builder.queryParam("time", time));
+
+        return builder;
+    }
+
+    private static UriComponentsBuilder queryRange(UriComponentsBuilder builder, QueryRangeRequest request) {
+        return builder
+            .queryParam("query", request.getQuery())
+            .queryParam("start", request.getStart())
+            .queryParam("end", request.getEnd())
+            .queryParam("step", request.getStep());
+    }
+
+    private static UriComponentsBuilder read(UriComponentsBuilder builder, ReadRequest request) {
+        Optional.ofNullable(request.getStartTime()).ifPresent(startTime -> builder.queryParam("start_time", startTime));
+        Optional.ofNullable(request.getEndTime()).ifPresent(endTime -> builder.queryParam("end_time", endTime));
+
+        request.getEnvelopeTypes().forEach(envelopeType -> builder.queryParam("envelope_types", envelopeType.getValue()));
+
+        Optional.ofNullable(request.getLimit()).ifPresent(limit -> builder.queryParam("limit", limit));
+        Optional.ofNullable(request.getDescending()).ifPresent(descending -> builder.queryParam("descending", descending));
+
+        return builder;
+    }
+
+}
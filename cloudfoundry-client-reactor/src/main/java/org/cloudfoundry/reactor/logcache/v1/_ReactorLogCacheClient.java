@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.logcache.v1;
+
+import org.cloudfoundry.logcache.v1.LogCacheClient;
+import org.cloudfoundry.logcache.v1.MetaRequest;
+import org.cloudfoundry.logcache.v1.MetaResponse;
+import org.cloudfoundry.logcache.v1.QueryRangeRequest;
+import org.cloudfoundry.logcache.v1.QueryRequest;
+import org.cloudfoundry.logcache.v1.QueryResponse;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.immutables.value.Value;
+import reactor.core.publisher.Mono;
+
+@Value.Immutable
+abstract class _ReactorLogCacheClient implements LogCacheClient {
+
+    @Override
+    public Mono<MetaResponse> meta(MetaRequest request) {
+        return getLogCacheEndpoints().meta(request);
+    }
+
+    @Override
+    public Mono<QueryResponse> query(QueryRequest request) {
+        return getLogCacheEndpoints().query(request);
+    }
+
+    @Override
+    public Mono<QueryResponse> queryRange(QueryRangeRequest request) {
+        return getLogCacheEndpoints().queryRange(request);
+    }
+
+    @Override
+    public Mono<ReadResponse> read(ReadRequest request) {
+        return getLogCacheEndpoints().read(request);
+    }
+
+    /**
+     * The connection context
+     */
+    abstract ConnectionContext getConnectionContext();
+
+    @Value.Derived
+    ReactorLogCacheEndpoints getLogCacheEndpoints() {
+        return new ReactorLogCacheEndpoints(getConnectionContext(), getRoot(), getTokenProvider());
+    }
+
+    @Value.Default
+    Mono<String> getRoot() {
+        return getConnectionContext().getRootProvider().getRoot("log_cache", getConnectionContext());
+    }
+
+    /**
+     * The token provider
+     */
+    abstract TokenProvider getTokenProvider();
+
+}
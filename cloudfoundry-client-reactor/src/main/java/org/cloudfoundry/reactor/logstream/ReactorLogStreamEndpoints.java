@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.logstream;
+
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.cloudfoundry.logstream.ReadRequest;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.util.AbstractReactorOperations;
+import org.cloudfoundry.reactor.util.EventStreamCodec;
+import org.cloudfoundry.reactor.util.ServerSentEvent;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Optional;
+
+final class ReactorLogStreamEndpoints extends AbstractReactorOperations {
+
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    private final ConnectionContext connectionContext;
+
+    ReactorLogStreamEndpoints(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider) {
+        super(connectionContext, root, tokenProvider);
+        this.connectionContext = connectionContext;
+    }
+
+    Flux<EnvelopeBatch> read(ReadRequest request) {
+        return doGet(builder -> selectors(builder.pathSegment("v2", "read"), request), outbound -> outbound, inbound -> inbound)
+            .flatMapMany(response -> EventStreamCodec.decode(response, MAX_PAYLOAD_SIZE))
+            .filter(ReactorLogStreamEndpoints::isBatch)
+            .map(this::toEnvelopeBatch)
+            .checkpoint();
+    }
+
+    private static boolean isBatch(ServerSentEvent event) {
+        return event.getData() != null && (event.getEventType() == null || "message".equals(event.getEventType()));
+    }
+
+    private static UriComponentsBuilder selectors(UriComponentsBuilder builder, ReadRequest request) {
+        Optional.ofNullable(request.getShardId()).ifPresent(shardId -> builder.queryParam("shard_id", shardId));
+        Optional.ofNullable(request.getDeterministicName()).ifPresent(deterministicName -> builder.queryParam("deterministic_name", deterministicName));
+
+        request.getSourceIds().forEach(sourceId -> builder.queryParam("source_id", sourceId));
+
+        request.getEnvelopeTypes().stream()
+            .map(EnvelopeType::getValue)
+            .map(String::toLowerCase)
+            .forEach(builder::queryParam);
+
+        return builder;
+    }
+
+    private EnvelopeBatch toEnvelopeBatch(ServerSentEvent event) {
+        try {
+            return this.connectionContext.getObjectMapper().readValue(event.getData(), EnvelopeBatch.class);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.logstream;
+
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.cloudfoundry.logstream.LogStreamClient;
+import org.cloudfoundry.logstream.ReadRequest;
+import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.ReplayProcessor;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Multiplexes the envelope streams of many sources over a small, fixed number of log stream connections.  Each source is assigned to a connection by its id, and each connection selects the
+ * sources assigned to it.  When the set of sources assigned to a connection changes, a new connection is established with the new selection and the previous connection is only closed once
+ * the new one delivers its first envelope, so that no envelopes are lost during the change.  While they overlap, an envelope delivered by one connection is dropped if an equal envelope delivered
+ * by the other connection has not yet been matched, so that envelopes delivered by both are dispatched once but equal envelopes delivered by a single connection are all dispatched.  Envelopes
+ * received on a connection are dispatched to the subscribers of their source.
+ */
+@Value.Immutable
+abstract class _LogStreamMultiplexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.logstream");
+
+    /**
+     * Disposes the connections of this multiplexer
+     */
+    @PreDestroy
+    public final void dispose() {
+        getConnections().forEach(Connection::dispose);
+    }
+
+    /**
+     * Stream the envelopes of a source.  The source is added to the multiplexed connections when the returned {@link Flux} is subscribed to, and removed once all of its subscribers have cancelled.
+     *
+     * @param sourceId the source id (e.g. an application id)
+     * @return the envelopes of the source
+     */
+    public final Flux<Envelope> stream(String sourceId) {
+        return Flux.create(sink -> {
+            Connection connection = getConnection(sourceId);
+
+            connection.add(sourceId, sink);
+            sink.onDispose(() -> connection.remove(sourceId, sink));
+        }, getOverflowStrategy());
+    }
+
+    @Value.Check
+    void check() {
+        if (getConnectionCount() < 1) {
+            throw new IllegalStateException("Cannot build LogStreamMultiplexer, connection count must be at least 1");
+        }
+
+        if (getEnvelopeTypes().isEmpty()) {
+            throw new IllegalStateException("Cannot build LogStreamMultiplexer, at least one envelope type must be provided");
+        }
+    }
+
+    /**
+     * The number of connections over which sources are multiplexed
+     */
+    @Value.Default
+    public Integer getConnectionCount() {
+        return 4;
+    }
+
+    /**
+     * The envelope types to stream
+     */
+    public abstract List<EnvelopeType> getEnvelopeTypes();
+
+    /**
+     * The log stream client
+     */
+    public abstract LogStreamClient getLogStreamClient();
+
+    /**
+     * The strategy applied when a subscriber requests envelopes more slowly than its source emits them.  Defaults to {@link FluxSink.OverflowStrategy#DROP}, discarding envelopes that arrive while a
+     * subscriber has no outstanding demand; {@link FluxSink.OverflowStrategy#BUFFER} retains them without bound.
+     */
+    @Value.Default
+    public FluxSink.OverflowStrategy getOverflowStrategy() {
+        return FluxSink.OverflowStrategy.DROP;
+    }
+
+    /**
+     * The maximum time a replaced connection is kept open while waiting for the first envelope of its replacement
+     */
+    @Value.Default
+    public Duration getOverlapDuration() {
+        return Duration.ofSeconds(5);
+    }
+
+    /**
+     * The delay before a connection is re-established after it fails or is closed by the server
+     */
+    @Value.Default
+    public Duration getReconnectDelay() {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * The time to wait for the set of sources assigned to a connection to stop changing before re-establishing it, so that a burst of changes causes a single reconnection
+     */
+    @Value.Default
+    public Duration getSettleDuration() {
+        return Duration.ofMillis(500);
+    }
+
+    @Value.Derived
+    List<Connection> getConnections() {
+        List<Connection> connections = new ArrayList<>(getConnectionCount());
+
+        for (int i = 0; i < getConnectionCount(); i++) {
+            connections.add(new Connection(getLogStreamClient(), getEnvelopeTypes(), getOverlapDuration(), getReconnectDelay(), getSettleDuration()));
+        }
+
+        return connections;
+    }
+
+    private Connection getConnection(String sourceId) {
+        List<Connection> connections = getConnections();
+        return connections.get(Math.floorMod(sourceId.hashCode(), connections.size()));
+    }
+
+    static final class Connection {
+
+        private static final int DEDUPLICATION_WINDOW = 1_024;
+
+        private final Map<Envelope, Integer> drained = unmatched();
+
+        private final Map<Envelope, Integer> received = unmatched();
+
+        private final FluxSink<Set<String>> selections;
+
+        private final Map<String, Set<FluxSink<Envelope>>> sinks = new ConcurrentHashMap<>();
+
+        private final Disposable subscription;
+
+        private Disposable active;
+
+        private int deduplicating;
+
+        private Disposable draining;
+
+        private Connection(LogStreamClient logStreamClient, List<EnvelopeType> envelopeTypes, Duration overlapDuration, Duration reconnectDelay, Duration settleDuration) {
+            ReplayProcessor<Set<String>> processor = ReplayProcessor.cacheLast();
+
+            this.selections = processor.sink();
+            this.subscription = processor
+                .sampleTimeout(sourceIds -> Mono.delay(settleDuration))
+                .subscribe(sourceIds -> select(logStreamClient, envelopeTypes, overlapDuration, reconnectDelay, sourceIds));
+        }
+
+        synchronized void add(String sourceId, FluxSink<Envelope> sink) {
+            Set<FluxSink<Envelope>> sourceSinks = this.sinks.get(sourceId);
+
+            if (sourceSinks == null) {
+                sourceSinks = new CopyOnWriteArraySet<>();
+                sourceSinks.add(sink);
+
+                this.sinks.put(sourceId, sourceSinks);
+                this.selections.next(new TreeSet<>(this.sinks.keySet()));
+            } else {
+                sourceSinks.add(sink);
+            }
+        }
+
+        void dispose() {
+            this.subscription.dispose();
+
+            synchronized (this) {
+                if (this.active != null) {
+                    this.active.dispose();
+                }
+
+                if (this.draining != null) {
+                    this.draining.dispose();
+                }
+            }
+
+            this.sinks.values().forEach(sourceSinks -> sourceSinks.forEach(FluxSink::complete));
+        }
+
+        synchronized void remove(String sourceId, FluxSink<Envelope> sink) {
+            Set<FluxSink<Envelope>> sourceSinks = this.sinks.get(sourceId);
+
+            if (sourceSinks == null) {
+                return;
+            }
+
+            sourceSinks.remove(sink);
+
+            if (sourceSinks.isEmpty()) {
+                this.sinks.remove(sourceId);
+                this.selections.next(new TreeSet<>(this.sinks.keySet()));
+            }
+        }
+
+        private static boolean match(Map<Envelope, Integer> unmatched, Envelope envelope) {
+            Integer count = unmatched.get(envelope);
+
+            if (count == null) {
+                return false;
+            }
+
+            if (count == 1) {
+                unmatched.remove(envelope);
+            } else {
+                unmatched.put(envelope, count - 1);
+            }
+
+            return true;
+        }
+
+        private static Flux<Envelope> read(LogStreamClient logStreamClient, List<EnvelopeType> envelopeTypes, Duration reconnectDelay, Set<String> sourceIds) {
+            return logStreamClient
+                .read(ReadRequest.builder()
+                    .envelopeTypes(envelopeTypes)
+                    .sourceIds(sourceIds)
+                    .build())
+                .repeatWhen(completions -> completions.delayElements(reconnectDelay))
+                .retryWhen(errors -> errors
+                    .doOnNext(t -> LOGGER.warn("Log stream connection failed, reconnecting", t))
+                    .delayElements(reconnectDelay));
+        }
+
+        private static Map<Envelope, Integer> unmatched() {
+            return new LinkedHashMap<Envelope, Integer>() {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Envelope, Integer> eldest) {
+                    return size() > DEDUPLICATION_WINDOW;
+                }
+
+            };
+        }
+
+        private void dispatch(Envelope envelope) {
+            if (envelope.getSourceId() == null) {
+                return;
+            }
+
+            Set<FluxSink<Envelope>> sourceSinks = this.sinks.get(envelope.getSourceId());
+
+            if (sourceSinks != null) {
+                sourceSinks.forEach(sink -> sink.next(envelope));
+            }
+        }
+
+        private void handOver(Disposable stream) {
+            Disposable replaced;
+
+            synchronized (this) {
+                if (this.active != stream || this.draining == null) {
+                    return;
+                }
+
+                replaced = this.draining;
+                this.draining = null;
+                this.deduplicating = DEDUPLICATION_WINDOW;
+                this.received.clear();
+            }
+
+            replaced.dispose();
+        }
+
+        private synchronized boolean isDuplicate(Disposable stream, Envelope envelope) {
+            if (this.active != stream && this.draining != stream) {
+                return true;
+            }
+
+            if (this.draining == null && this.deduplicating == 0) {
+                return false;
+            }
+
+            boolean active = this.active == stream;
+            boolean duplicate = match(active ? this.drained : this.received, envelope);
+
+            if (!duplicate && this.draining != null) {
+                (active ? this.received : this.drained).merge(envelope, 1, Integer::sum);
+            }
+
+            if (this.draining == null && (--this.deduplicating == 0 || this.drained.isEmpty())) {
+                this.deduplicating = 0;
+                this.drained.clear();
+            }
+
+            return duplicate;
+        }
+
+        private void onEnvelope(Disposable stream, Envelope envelope) {
+            handOver(stream);
+
+            if (!isDuplicate(stream, envelope)) {
+                dispatch(envelope);
+            }
+        }
+
+        private void select(LogStreamClient logStreamClient, List<EnvelopeType> envelopeTypes, Duration overlapDuration, Duration reconnectDelay, Set<String> sourceIds) {
+            Disposable.Swap stream = Disposables.swap();
+            Disposable replaced;
+
+            synchronized (this) {
+                replaced = this.draining;
+                this.draining = this.active;
+                this.active = stream;
+                this.deduplicating = 0;
+                this.drained.clear();
+                this.received.clear();
+            }
+
+            if (replaced != null) {
+                replaced.dispose();
+            }
+
+            if (sourceIds.isEmpty()) {
+                handOver(stream);
+                return;
+            }
+
+            stream.update(read(logStreamClient, envelopeTypes, reconnectDelay, sourceIds)
+                .subscribe(envelope -> onEnvelope(stream, envelope)));
+
+            Mono.delay(overlapDuration)
+                .subscribe(tick -> handOver(stream));
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.logstream;
+
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
+import org.cloudfoundry.logstream.LogStreamClient;
+import org.cloudfoundry.logstream.ReadRequest;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.immutables.value.Value;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Reactor-based implementation of {@link LogStreamClient}
+ */
+@Value.Immutable
+abstract class _ReactorLogStreamClient implements LogStreamClient {
+
+    @Override
+    public Flux<Envelope> read(ReadRequest request) {
+        return getLogStreamEndpoints().read(request)
+            .flatMapIterable(EnvelopeBatch::getBatch);
+    }
+
+    @Override
+    public Flux<EnvelopeBatch> readBatches(ReadRequest request) {
+        return getLogStreamEndpoints().read(request);
+    }
+
+    /**
+     * The connection context
+     */
+    abstract ConnectionContext getConnectionContext();
+
+    @Value.Derived
+    ReactorLogStreamEndpoints getLogStreamEndpoints() {
+        return new ReactorLogStreamEndpoints(getConnectionContext(), getRoot(), getTokenProvider());
+    }
+
+    @Value.Default
+    Mono<String> getRoot() {
+        return getConnectionContext().getRootProvider().getRoot("log_stream", getConnectionContext());
+    }
+
+    /**
+     * The token provider
+     */
+    abstract TokenProvider getTokenProvider();
+
+}
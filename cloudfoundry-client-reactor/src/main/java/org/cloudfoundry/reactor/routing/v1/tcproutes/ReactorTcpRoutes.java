@@ -19,6 +19,7 @@ package org.cloudfoundry.reactor.routing.v1.tcproutes;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 import org.cloudfoundry.reactor.routing.v1.AbstractRoutingV1Operations;
+import org.cloudfoundry.reactor.util.EventStreamCodec;
 import org.cloudfoundry.routing.v1.tcproutes.CreateTcpRoutesRequest;
 import org.cloudfoundry.routing.v1.tcproutes.CreateTcpRoutesResponse;
 import org.cloudfoundry.routing.v1.tcproutes.DeleteTcpRoutesRequest;
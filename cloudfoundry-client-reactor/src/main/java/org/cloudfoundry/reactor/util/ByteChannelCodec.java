@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.ipc.netty.http.client.HttpClientResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Function;
+
+public final class ByteChannelCodec {
+
+    private static final int PREFETCH = 32;
+
+    private ByteChannelCodec() {
+    }
+
+    /**
+     * Writes the body of a response to a {@link WritableByteChannel}.  Each received buffer is written through views of its underlying memory, so pooled buffers are never copied onto the heap.
+     * Writes happen off the event loop, with at most {@value #PREFETCH} buffers retained while waiting to be written.  Buffers still waiting when the write is cancelled or fails are released.
+     *
+     * @param channel the channel to write the body to
+     * @return a transformer that writes the body
+     */
+    public static Function<Mono<HttpClientResponse>, Mono<Void>> write(WritableByteChannel channel) {
+        return inbound -> inbound
+            .flatMap(response -> {
+                PendingBuffers pending = new PendingBuffers();
+
+                return response.receive()
+                    .retain()
+                    .doOnNext(pending::add)
+                    .publishOn(Schedulers.elastic(), PREFETCH)
+                    .doOnNext(buffer -> write(buffer, channel, pending))
+                    .doFinally(signal -> pending.release())
+                    .then();
+            });
+    }
+
+    private static void write(ByteBuf buffer, WritableByteChannel channel, PendingBuffers pending) {
+        if (!pending.remove(buffer)) {
+            return;
+        }
+
+        try {
+            for (ByteBuffer nioBuffer : buffer.nioBuffers()) {
+                while (nioBuffer.hasRemaining()) {
+                    channel.write(nioBuffer);
+                }
+            }
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static final class PendingBuffers {
+
+        private final Set<ByteBuf> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private boolean released = false;
+
+        private synchronized void add(ByteBuf buffer) {
+            if (this.released) {
+                buffer.release();
+            } else {
+                this.buffers.add(buffer);
+            }
+        }
+
+        private synchronized void release() {
+            this.released = true;
+            this.buffers.forEach(ByteBuf::release);
+            this.buffers.clear();
+        }
+
+        private synchronized boolean remove(ByteBuf buffer) {
+            return this.buffers.remove(buffer);
+        }
+
+    }
+
+}
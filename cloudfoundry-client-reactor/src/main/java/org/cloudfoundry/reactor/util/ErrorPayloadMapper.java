@@ -17,6 +17,7 @@
 package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpStatusClass;
 import org.cloudfoundry.UnknownCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
@@ -26,6 +27,11 @@ import org.cloudfoundry.uaa.UaaException;
 import reactor.core.publisher.Mono;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -37,22 +43,22 @@ public final class ErrorPayloadMapper {
     @SuppressWarnings("unchecked")
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> clientV2(ObjectMapper objectMapper) {
         return inbound -> inbound
-            .flatMap(mapToError((statusCode, payload) -> {
+            .flatMap(mapToError((statusCode, payload, retryAfter) -> {
                 Map<String, Object> map = objectMapper.readValue(payload, Map.class);
                 Integer code = (Integer) map.get("code");
                 String description = (String) map.get("description");
                 String errorCode = (String) map.get("error_code");
 
-                return new ClientV2Exception(statusCode, code, description, errorCode);
+                return new ClientV2Exception(statusCode, code, description, errorCode, retryAfter);
             }));
     }
 
     @SuppressWarnings("unchecked")
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> clientV3(ObjectMapper objectMapper) {
         return inbound -> inbound
-            .flatMap(mapToError((statusCode, payload) -> {
+            .flatMap(mapToError((statusCode, payload, retryAfter) -> {
                 Errors errors = objectMapper.readValue(payload, Errors.class);
-                return new ClientV3Exception(statusCode, errors.getErrors());
+                return new ClientV3Exception(statusCode, errors.getErrors(), retryAfter);
             }));
     }
 
@@ -64,14 +70,14 @@ public final class ErrorPayloadMapper {
                 }
 
                 return response.receive().aggregate().asString()
-                    .flatMap(payload -> Mono.error(new UnknownCloudFoundryException(response.status().code(), payload)));
+                    .flatMap(payload -> Mono.error(new UnknownCloudFoundryException(response.status().code(), payload, getRetryAfter(response))));
             });
     }
 
     @SuppressWarnings("unchecked")
     public static Function<Mono<HttpClientResponse>, Mono<HttpClientResponse>> uaa(ObjectMapper objectMapper) {
         return inbound -> inbound
-            .flatMap(mapToError((statusCode, payload) -> {
+            .flatMap(mapToError((statusCode, payload, retryAfter) -> {
                 Map<String, Object> map = objectMapper.readValue(payload, Map.class);
                 String error = (String) map.get("error");
                 String errorDescription = (String) map.get("error_description");
@@ -80,6 +86,25 @@ public final class ErrorPayloadMapper {
             }));
     }
 
+    private static Duration getRetryAfter(HttpClientResponse response) {
+        String value = response.responseHeaders().get(HttpHeaderNames.RETRY_AFTER);
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(Instant.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException f) {
+                return null;
+            }
+        }
+    }
+
     private static boolean isError(HttpClientResponse response) {
         HttpStatusClass statusClass = response.status().codeClass();
         return statusClass == CLIENT_ERROR || statusClass == SERVER_ERROR;
@@ -91,13 +116,15 @@ public final class ErrorPayloadMapper {
                 return Mono.just(response);
             }
 
+            Duration retryAfter = getRetryAfter(response);
+
             return response.receive().aggregate().asString()
-                .switchIfEmpty(Mono.error(new UnknownCloudFoundryException(response.status().code())))
+                .switchIfEmpty(Mono.error(new UnknownCloudFoundryException(response.status().code(), null, retryAfter)))
                 .flatMap(payload -> {
                     try {
-                        return Mono.error(exceptionGenerator.apply(response.status().code(), payload));
+                        return Mono.error(exceptionGenerator.apply(response.status().code(), payload, retryAfter));
                     } catch (Exception e) {
-                        return Mono.error(new UnknownCloudFoundryException(response.status().code(), payload));
+                        return Mono.error(new UnknownCloudFoundryException(response.status().code(), payload, retryAfter));
                     }
                 });
         };
@@ -106,7 +133,7 @@ public final class ErrorPayloadMapper {
     @FunctionalInterface
     private interface ExceptionGenerator {
 
-        RuntimeException apply(Integer statusCode, String payload) throws Exception;
+        RuntimeException apply(Integer statusCode, String payload, Duration retryAfter) throws Exception;
 
     }
 
@@ -14,21 +14,25 @@
  * limitations under the License.
  */
 
-package org.cloudfoundry.reactor.routing.v1.tcproutes;
+package org.cloudfoundry.reactor.util;
 
 import io.netty.handler.codec.LineBasedFrameDecoder;
 import reactor.core.publisher.Flux;
 import reactor.ipc.netty.http.client.HttpClientResponse;
 
-final class EventStreamCodec {
+public final class EventStreamCodec {
 
     private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
 
     private EventStreamCodec() {
     }
 
-    static Flux<ServerSentEvent> decode(HttpClientResponse response) {
-        return response.addHandler(createDecoder()).receive().asString()
+    public static Flux<ServerSentEvent> decode(HttpClientResponse response) {
+        return decode(response, MAX_PAYLOAD_SIZE);
+    }
+
+    public static Flux<ServerSentEvent> decode(HttpClientResponse response, int maxPayloadSize) {
+        return response.addHandler(createDecoder(maxPayloadSize)).receive().asString()
             .windowWhile(s -> !s.isEmpty())
             .concatMap(window -> window
                 .reduce(ServerSentEvent.builder(), EventStreamCodec::parseLine))
@@ -36,8 +40,8 @@ final class EventStreamCodec {
             .filter(sse -> sse.getData() != null || sse.getEventType() != null || sse.getId() != null || sse.getRetry() != null);
     }
 
-    private static LineBasedFrameDecoder createDecoder() {
-        return new LineBasedFrameDecoder(MAX_PAYLOAD_SIZE);
+    private static LineBasedFrameDecoder createDecoder(int maxPayloadSize) {
+        return new LineBasedFrameDecoder(maxPayloadSize);
     }
 
     private static Field parseField(String line) {
@@ -23,19 +23,30 @@ import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.util.AsciiString;
+import org.cloudfoundry.reactor.UploadConfiguration;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.ipc.netty.NettyOutbound;
 import reactor.ipc.netty.http.client.HttpClientRequest;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -43,6 +54,7 @@ import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_DISPOSITION;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpHeaderValues.MULTIPART_FORM_DATA;
+import static java.nio.file.StandardOpenOption.READ;
 
 public final class MultipartHttpClientRequest {
 
@@ -63,9 +75,16 @@ public final class MultipartHttpClientRequest {
 
     private final HttpClientRequest request;
 
+    private final Optional<UploadConfiguration> uploadConfiguration;
+
     public MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest request) {
+        this(objectMapper, request, Optional.empty());
+    }
+
+    public MultipartHttpClientRequest(ObjectMapper objectMapper, HttpClientRequest request, Optional<UploadConfiguration> uploadConfiguration) {
         this.objectMapper = objectMapper;
         this.request = request;
+        this.uploadConfiguration = uploadConfiguration;
     }
 
     public MultipartHttpClientRequest addPart(Consumer<PartHttpClientRequest> partConsumer) {
@@ -86,14 +105,41 @@ public final class MultipartHttpClientRequest {
             })
             .collect(Collectors.toList());
 
-        Long contentLength = parts.stream()
-            .mapToLong(part -> delimiter.length() + CRLF.length() + part.getLength())
-            .sum() + closeDelimiter.length();
+        NettyOutbound intermediateRequest;
+        Optional<Long> contentLength;
 
-        NettyOutbound intermediateRequest = this.request
-            .chunkedTransfer(false)
-            .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary))
-            .header(CONTENT_LENGTH, String.valueOf(contentLength));
+        if (parts.stream().anyMatch(part -> part.stream != null)) {
+            contentLength = Optional.empty();
+
+            intermediateRequest = this.request
+                .chunkedTransfer(true)
+                .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary));
+        } else {
+            contentLength = Optional.of(parts.stream()
+                .mapToLong(part -> delimiter.length() + CRLF.length() + part.getLength())
+                .sum() + closeDelimiter.length());
+
+            intermediateRequest = this.request
+                .chunkedTransfer(false)
+                .header(CONTENT_TYPE, BOUNDARY_PREAMBLE.concat(boundary))
+                .header(CONTENT_LENGTH, String.valueOf(contentLength.get()));
+        }
+
+        if (this.uploadConfiguration.isPresent()) {
+            UploadConfiguration configuration = this.uploadConfiguration.get();
+
+            Flux<ByteBuf> body = Flux.fromIterable(parts)
+                .concatMap(part -> Flux.concat(
+                    Mono.just(Unpooled.wrappedBuffer(delimiter.toByteArray())),
+                    Mono.just(Unpooled.wrappedBuffer(CRLF.toByteArray())),
+                    Mono.just(part.renderedHeaders),
+                    part.getPayload(configuration.getChunkSize())))
+                .concatWith(Mono.just(Unpooled.wrappedBuffer(closeDelimiter.toByteArray())));
+
+            return intermediateRequest
+                .send(body.transform(configuration.monitor(this.request.uri(), contentLength)))
+                .then();
+        }
 
         for (PartHttpClientRequest part : parts) {
             intermediateRequest = intermediateRequest.sendObject(Unpooled.wrappedBuffer(delimiter.toByteArray()));
@@ -128,6 +174,8 @@ public final class MultipartHttpClientRequest {
 
         private static final AsciiString HEADER_DELIMITER = new AsciiString(": ");
 
+        private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
         private final HttpHeaders headers = new DefaultHttpHeaders(true);
 
         private final ObjectMapper objectMapper;
@@ -138,6 +186,8 @@ public final class MultipartHttpClientRequest {
 
         private ByteBuf renderedHeaders;
 
+        private Consumer<OutputStream> stream;
+
         private PartHttpClientRequest(ObjectMapper objectMapper) {
             this.objectMapper = objectMapper;
         }
@@ -163,6 +213,12 @@ public final class MultipartHttpClientRequest {
             }
         }
 
+        public void sendStream(Consumer<OutputStream> writer) {
+            this.headers.remove(CONTENT_LENGTH);
+            this.renderedHeaders = renderHeaders();
+            this.stream = writer;
+        }
+
         public PartHttpClientRequest setContentDispositionFormData(String name) {
             return setContentDispositionFormData(name, null);
         }
@@ -187,6 +243,18 @@ public final class MultipartHttpClientRequest {
             return this.renderedHeaders.readableBytes() + getPayloadLength();
         }
 
+        private Flux<ByteBuf> getPayload(int chunkSize) {
+            if (this.file != null) {
+                return read(this.file, chunkSize);
+            } else if (this.stream != null) {
+                return stream(this.stream);
+            } else if (this.payload != null) {
+                return Flux.just(Unpooled.wrappedBuffer(this.payload));
+            } else {
+                return Flux.empty();
+            }
+        }
+
         private long getPayloadLength() {
             if (this.file != null) {
                 try {
@@ -215,12 +283,107 @@ public final class MultipartHttpClientRequest {
         private NettyOutbound sendPayload(NettyOutbound request) {
             if (this.file != null) {
                 return request.sendFile(this.file);
+            } else if (this.stream != null) {
+                return request.send(stream(this.stream));
             } else if (this.payload != null) {
                 return request.sendByteArray(Mono.just(this.payload));
             } else {
                 return request;
             }
         }
+
+        private static Flux<ByteBuf> read(Path file, int chunkSize) {
+            return Flux
+                .using(() -> FileChannel.open(file, READ),
+                    channel -> Flux.<ByteBuf>generate(sink -> {
+                        try {
+                            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+
+                            if (channel.read(buffer) == -1) {
+                                sink.complete();
+                            } else {
+                                buffer.flip();
+                                sink.next(Unpooled.wrappedBuffer(buffer));
+                            }
+                        } catch (IOException e) {
+                            sink.error(e);
+                        }
+                    }), channel -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    })
+                .subscribeOn(Schedulers.elastic());
+        }
+
+        private static Flux<ByteBuf> stream(Consumer<OutputStream> writer) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            return Flux
+                .using(() -> {
+                    PipedInputStream in = new PipedInputStream(STREAM_BUFFER_SIZE);
+                    PipedOutputStream out = new PipedOutputStream(in);
+
+                    Schedulers.elastic().schedule(() -> {
+                        try {
+                            writer.accept(new UncloseableOutputStream(out));
+                        } catch (Throwable t) {
+                            error.set(t);
+                        } finally {
+                            try {
+                                out.close();
+                            } catch (IOException e) {
+                                error.compareAndSet(null, e);
+                            }
+                        }
+                    });
+
+                    return in;
+                }, in -> Flux.<ByteBuf>generate(sink -> {
+                    try {
+                        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                        int length = in.read(buffer);
+
+                        if (length != -1) {
+                            sink.next(Unpooled.wrappedBuffer(buffer, 0, length));
+                        } else if (error.get() != null) {
+                            sink.error(error.get());
+                        } else {
+                            sink.complete();
+                        }
+                    } catch (IOException e) {
+                        sink.error(Optional.ofNullable(error.get()).orElse(e));
+                    }
+                }), in -> {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                })
+                .subscribeOn(Schedulers.elastic());
+        }
+
+    }
+
+    private static final class UncloseableOutputStream extends FilterOutputStream {
+
+        private UncloseableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+        }
+
     }
 
 }
@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package org.cloudfoundry.reactor.routing.v1.tcproutes;
+package org.cloudfoundry.reactor.util;
 
 import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
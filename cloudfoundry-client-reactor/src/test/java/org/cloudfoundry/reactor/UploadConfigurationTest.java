@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class UploadConfigurationTest {
+
+    @Test
+    public void monitor() {
+        List<UploadProgress> progress = new CopyOnWriteArrayList<>();
+
+        UploadConfiguration configuration = UploadConfiguration.builder()
+            .bandwidth(40 * 1024L)
+            .progressListener(progress::add)
+            .build();
+
+        long start = System.nanoTime();
+
+        Flux.range(0, 4)
+            .map(i -> Unpooled.wrappedBuffer(new byte[10 * 1024]))
+            .transform(configuration.monitor("test-uri", Optional.of(40 * 1024L)))
+            .map(ByteBuf::readableBytes)
+            .as(StepVerifier::create)
+            .expectNextCount(4)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(700));
+        assertThat(progress).hasSize(4);
+        assertThat(progress.get(3).getBytesSent()).isEqualTo(40 * 1024L);
+        assertThat(progress.get(3).getTotalBytes()).contains(40 * 1024L);
+        assertThat(progress.get(3).getUri()).isEqualTo("test-uri");
+    }
+
+    @Test
+    public void retry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono
+            .defer(() -> attempts.incrementAndGet() < 3 ? Mono.<String>error(new IOException("test-connection-reset")) : Mono.just("test-value"))
+            .transform(configuration().retry())
+            .as(StepVerifier::create)
+            .expectNext("test-value")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void retryExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono
+            .defer(() -> {
+                attempts.incrementAndGet();
+                return Mono.error(new IOException("test-connection-reset"));
+            })
+            .transform(configuration().retry())
+            .as(StepVerifier::create)
+            .expectError(IOException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void retryNonTransportError() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono
+            .defer(() -> {
+                attempts.incrementAndGet();
+                return Mono.error(new IllegalStateException("test-error"));
+            })
+            .transform(configuration().retry())
+            .as(StepVerifier::create)
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    private static UploadConfiguration configuration() {
+        return UploadConfiguration.builder()
+            .maximumRetries(2)
+            .retryDelay(Duration.ofMillis(10))
+            .build();
+    }
+
+}
@@ -71,9 +71,12 @@ import org.cloudfoundry.client.v2.servicebindings.ServiceBindingEntity;
 import org.cloudfoundry.client.v2.servicebindings.ServiceBindingResource;
 import org.cloudfoundry.client.v2.serviceinstances.Service;
 import org.cloudfoundry.client.v2.serviceinstances.ServiceInstance;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
 import org.cloudfoundry.reactor.InteractionContext;
 import org.cloudfoundry.reactor.TestRequest;
 import org.cloudfoundry.reactor.TestResponse;
+import org.cloudfoundry.reactor.UploadConfiguration;
+import org.cloudfoundry.reactor.UploadProgress;
 import org.cloudfoundry.reactor.client.AbstractClientApiTest;
 import org.cloudfoundry.util.FluentMap;
 import org.cloudfoundry.util.OperationUtils;
@@ -81,10 +84,15 @@ import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 import reactor.test.StepVerifier;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static io.netty.handler.codec.http.HttpMethod.DELETE;
 import static io.netty.handler.codec.http.HttpMethod.GET;
@@ -297,6 +305,31 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void downloadChannel() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id/download")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/apps/GET_{id}_download_response.bin")
+                .build())
+            .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.applications
+            .download(DownloadApplicationRequest.builder()
+                .applicationId("test-application-id")
+                .build(), Channels.newChannel(out))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(out.toByteArray()).isEqualTo(getBytes("fixtures/client/v2/apps/GET_{id}_download_response.bin"));
+    }
+
     @Test
     public void downloadDroplet() {
         mockRequest(InteractionContext.builder()
@@ -320,6 +353,31 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void downloadDropletChannel() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/apps/test-application-id/droplet/download")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v2/apps/GET_{id}_download_response.bin")
+                .build())
+            .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.applications
+            .downloadDroplet(DownloadApplicationDropletRequest.builder()
+                .applicationId("test-application-id")
+                .build(), Channels.newChannel(out))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(out.toByteArray()).isEqualTo(getBytes("fixtures/client/v2/apps/GET_{id}_download_response.bin"));
+    }
+
     @Test
     public void environment() {
         mockRequest(InteractionContext.builder()
@@ -1046,6 +1104,48 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void uploadDirectory() throws IOException {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(PUT).path("/apps/test-application-id/bits")
+                .contents(consumer((headers, body) -> {
+                    String boundary = extractBoundary(headers);
+                    assertThat(headers.get("Transfer-Encoding")).isEqualTo("chunked");
+
+                    String contents = body.readString(StandardCharsets.ISO_8859_1);
+                    assertThat(contents.substring(contents.indexOf("content-disposition: form-data; name=\"application\"")))
+                        .startsWith("content-disposition: form-data; name=\"application\"; filename=\"application.zip\"\r\n" +
+                            "content-type: application/zip\r\n" +
+                            "\r\n" +
+                            "PK")
+                        .contains("index.html")
+                        .doesNotContain("path/to/content.txt")
+                        .endsWith("\r\n--" + boundary + "--");
+                }))
+                .build())
+            .response(TestResponse.builder()
+                .status(CREATED)
+                .payload("fixtures/client/v2/apps/PUT_{id}_bits_response.json")
+                .build())
+            .build());
+
+        this.applications
+            .upload(UploadApplicationRequest.builder()
+                .application(new ClassPathResource("fixtures/client/v2/apps/test-application").getFile().toPath())
+                .applicationId("test-application-id")
+                .resource(Resource.builder()
+                    .hash("b907173290db6a155949ab4dc9b2d019dea0c901")
+                    .path("path/to/content.txt")
+                    .size(13)
+                    .build())
+                .build())
+            .as(StepVerifier::create)
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void uploadDroplet() throws IOException {
         mockRequest(InteractionContext.builder()
@@ -1091,4 +1191,82 @@ public final class ReactorApplicationsV2Test extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void uploadWithUploadConfiguration() throws IOException {
+        List<UploadProgress> progress = new CopyOnWriteArrayList<>();
+
+        ReactorApplicationsV2 applications = new ReactorApplicationsV2(DefaultConnectionContext.builder()
+            .apiHost("localhost")
+            .secure(false)
+            .uploadConfiguration(UploadConfiguration.builder()
+                .chunkSize(4)
+                .progressListener(progress::add)
+                .build())
+            .build(), this.root, TOKEN_PROVIDER);
+
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(PUT).path("/apps/test-application-id/bits")
+                .contents(consumer((headers, body) -> {
+                    String boundary = extractBoundary(headers);
+
+                    assertThat(body.readString(Charset.defaultCharset()))
+                        .isEqualTo("\r\n--" + boundary + "\r\n" +
+                            "content-disposition: form-data; name=\"resources\"\r\n" +
+                            "content-length: 178\r\n" +
+                            "content-type: application/json\r\n" +
+                            "\r\n" +
+                            "[{\"sha1\":\"b907173290db6a155949ab4dc9b2d019dea0c901\",\"fn\":\"path/to/content.txt\",\"size\":123}," +
+                            "{\"sha1\":\"ff84f89760317996b9dd180ab996b079f418396f\",\"fn\":\"path/to/code.jar\",\"size\":123}]" +
+                            "\r\n" + "--" + boundary + "\r\n" +
+                            "content-disposition: form-data; name=\"application\"; filename=\"application.zip\"\r\n" +
+                            "content-length: 13\r\n" +
+                            "content-type: application/zip\r\n" +
+                            "\r\n" +
+                            "test-content\n" +
+                            "\r\n" +
+                            "--" + boundary + "--");
+                }))
+                .build())
+            .response(TestResponse.builder()
+                .status(CREATED)
+                .payload("fixtures/client/v2/apps/PUT_{id}_bits_response.json")
+                .build())
+            .build());
+
+        applications
+            .upload(UploadApplicationRequest.builder()
+                .application(new ClassPathResource("fixtures/client/v2/apps/test-application.zip").getFile().toPath())
+                .applicationId("test-application-id")
+                .resource(Resource.builder()
+                    .hash("b907173290db6a155949ab4dc9b2d019dea0c901")
+                    .path("path/to/content.txt")
+                    .size(123)
+                    .build())
+                .resource(Resource.builder()
+                    .hash("ff84f89760317996b9dd180ab996b079f418396f")
+                    .path("path/to/code.jar")
+                    .size(123)
+                    .build())
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(UploadApplicationResponse.builder()
+                .entity(JobEntity.builder()
+                    .id("eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .status("queued")
+                    .build())
+                .metadata(Metadata.builder()
+                    .createdAt("2015-07-27T22:43:33Z")
+                    .id("eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .url("/v2/jobs/eff6a47e-67a1-4e3b-99a5-4f9bcab7620a")
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(progress.size()).isGreaterThan(1);
+        assertThat(progress.get(progress.size() - 1).getBytesSent()).isEqualTo(progress.get(progress.size() - 1).getTotalBytes().orElse(-1L));
+        assertThat(progress.get(progress.size() - 1).getUri()).endsWith("/apps/test-application-id/bits");
+    }
+
 }
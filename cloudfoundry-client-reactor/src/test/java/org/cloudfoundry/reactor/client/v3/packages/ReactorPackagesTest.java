@@ -57,7 +57,9 @@ import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 import reactor.test.StepVerifier;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.time.Duration;
 
@@ -233,6 +235,31 @@ public final class ReactorPackagesTest extends AbstractClientApiTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void downloadChannel() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/packages/test-package-id/download")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/client/v3/packages/GET_{id}_download_response.bin")
+                .build())
+            .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        this.packages
+            .download(DownloadPackageRequest.builder()
+                .packageId("test-package-id")
+                .build(), Channels.newChannel(out))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(out.toByteArray()).isEqualTo(getBytes("fixtures/client/v3/packages/GET_{id}_download_response.bin"));
+    }
+
     @Test
     public void get() {
         mockRequest(InteractionContext.builder()
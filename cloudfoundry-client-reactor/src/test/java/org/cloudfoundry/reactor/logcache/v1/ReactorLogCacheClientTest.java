@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.reactor.logcache.v1;
+
+import org.cloudfoundry.logcache.v1.Meta;
+import org.cloudfoundry.logcache.v1.MetaRequest;
+import org.cloudfoundry.logcache.v1.MetaResponse;
+import org.cloudfoundry.logcache.v1.QueryData;
+import org.cloudfoundry.logcache.v1.QueryRangeRequest;
+import org.cloudfoundry.logcache.v1.QueryRequest;
+import org.cloudfoundry.logcache.v1.QueryResponse;
+import org.cloudfoundry.logcache.v1.QueryResult;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.cloudfoundry.loggregator.v2.Gauge;
+import org.cloudfoundry.loggregator.v2.GaugeValue;
+import org.cloudfoundry.loggregator.v2.Log;
+import org.cloudfoundry.loggregator.v2.LogType;
+import org.cloudfoundry.reactor.AbstractRestTest;
+import org.cloudfoundry.reactor.InteractionContext;
+import org.cloudfoundry.reactor.TestRequest;
+import org.cloudfoundry.reactor.TestResponse;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+
+public final class ReactorLogCacheClientTest extends AbstractRestTest {
+
+    private final ReactorLogCacheClient logCacheClient = ReactorLogCacheClient.builder()
+        .connectionContext(CONNECTION_CONTEXT)
+        .root(this.root)
+        .tokenProvider(TOKEN_PROVIDER)
+        .build();
+
+    @Test
+    public void meta() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/api/v1/meta")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/logcache/v1/GET_meta_response.json")
+                .build())
+            .build());
+
+        this.logCacheClient
+            .meta(MetaRequest.builder()
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(MetaResponse.builder()
+                .meta("test-source-id", Meta.builder()
+                    .count(100000L)
+                    .expired(2500L)
+                    .newestTimestamp(1541623600000000000L)
+                    .oldestTimestamp(1541620000000000000L)
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void query() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/api/v1/query?query=avg(cpu)&time=1541620000")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/logcache/v1/GET_query_response.json")
+                .build())
+            .build());
+
+        this.logCacheClient
+            .query(QueryRequest.builder()
+                .query("avg(cpu)")
+                .time("1541620000")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(QueryResponse.builder()
+                .data(QueryData.builder()
+                    .result(QueryResult.builder()
+                        .instantValue("1541620000.000", "0.5")
+                        .metric("source_id", "test-source-id")
+                        .build())
+                    .resultType("vector")
+                    .build())
+                .status("success")
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void queryRange() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/api/v1/query_range?query=avg(cpu)&start=1541620000&end=1541620015&step=15s")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/logcache/v1/GET_query_range_response.json")
+                .build())
+            .build());
+
+        this.logCacheClient
+            .queryRange(QueryRangeRequest.builder()
+                .end("1541620015")
+                .query("avg(cpu)")
+                .start("1541620000")
+                .step("15s")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(QueryResponse.builder()
+                .data(QueryData.builder()
+                    .result(QueryResult.builder()
+                        .metric("source_id", "test-source-id")
+                        .value(Arrays.asList("1541620000.000", "0.5"))
+                        .value(Arrays.asList("1541620015.000", "0.75"))
+                        .build())
+                    .resultType("matrix")
+                    .build())
+                .status("success")
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void read() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/api/v1/read/test-source-id?start_time=1541620000000000000&end_time=1541620001000000000&envelope_types=LOG&envelope_types=GAUGE&limit=100&descending=false")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .payload("fixtures/logcache/v1/GET_{id}_read_response.json")
+                .build())
+            .build());
+
+        this.logCacheClient
+            .read(ReadRequest.builder()
+                .descending(false)
+                .endTime(1541620001000000000L)
+                .envelopeTypes(EnvelopeType.LOG, EnvelopeType.GAUGE)
+                .limit(100)
+                .sourceId("test-source-id")
+                .startTime(1541620000000000000L)
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(ReadResponse.builder()
+                .envelopes(EnvelopeBatch.builder()
+                    .batch(Envelope.builder()
+                            .instanceId("0")
+                            .log(Log.builder()
+                                .payload("dGVzdC1sb2ctbWVzc2FnZQ==")
+                                .type(LogType.OUT)
+                                .build())
+                            .sourceId("test-source-id")
+                            .tag("source_type", "APP/PROC/WEB")
+                            .timestamp(1541620000000000000L)
+                            .build(),
+                        Envelope.builder()
+                            .gauge(Gauge.builder()
+                                .metric("cpu", GaugeValue.builder()
+                                    .unit("percentage")
+                                    .value(0.5)
+                                    .build())
+                                .build())
+                            .instanceId("0")
+                            .sourceId("test-source-id")
+                            .timestamp(1541620000500000000L)
+                            .build())
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}
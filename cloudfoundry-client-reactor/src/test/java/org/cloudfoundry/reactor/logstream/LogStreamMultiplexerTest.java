@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.logstream;
+
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.cloudfoundry.logstream.LogStreamClient;
+import org.cloudfoundry.logstream.ReadRequest;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class LogStreamMultiplexerTest {
+
+    private final LogStreamClient logStreamClient = mock(LogStreamClient.class, RETURNS_SMART_NULLS);
+
+    private final LogStreamMultiplexer multiplexer = LogStreamMultiplexer.builder()
+        .connectionCount(1)
+        .envelopeType(EnvelopeType.LOG)
+        .logStreamClient(this.logStreamClient)
+        .settleDuration(Duration.ofMillis(100))
+        .build();
+
+    @After
+    public void dispose() {
+        this.multiplexer.dispose();
+    }
+
+    @Test
+    public void stream() {
+        when(this.logStreamClient
+            .read(ReadRequest.builder()
+                .envelopeType(EnvelopeType.LOG)
+                .sourceIds("test-source-id-1", "test-source-id-2")
+                .build()))
+            .thenReturn(Flux
+                .just(envelope("test-source-id-1", "0"), envelope("test-source-id-2", "1"), envelope("test-other-source-id", "2"), envelope("test-source-id-1", "3"))
+                .concatWith(Flux.never()));
+
+        Flux
+            .merge(this.multiplexer.stream("test-source-id-1").take(2), this.multiplexer.stream("test-source-id-2").take(1))
+            .map(Envelope::getInstanceId)
+            .as(StepVerifier::create)
+            .recordWith(ArrayList::new)
+            .expectNextCount(3)
+            .consumeRecordedWith(instanceIds -> assertThat(instanceIds).containsExactlyInAnyOrder("0", "1", "3"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void streamReselection() {
+        DirectProcessor<Envelope> first = DirectProcessor.create();
+        DirectProcessor<Envelope> second = DirectProcessor.create();
+
+        when(this.logStreamClient
+            .read(ReadRequest.builder()
+                .envelopeType(EnvelopeType.LOG)
+                .sourceIds("test-source-id-1")
+                .build()))
+            .thenReturn(first);
+
+        when(this.logStreamClient
+            .read(ReadRequest.builder()
+                .envelopeType(EnvelopeType.LOG)
+                .sourceIds("test-source-id-1", "test-source-id-2")
+                .build()))
+            .thenReturn(second);
+
+        this.multiplexer
+            .stream("test-source-id-1")
+            .map(Envelope::getInstanceId)
+            .as(StepVerifier::create)
+            .then(() -> await(first::hasDownstreams))
+            .then(() -> first.onNext(envelope("test-source-id-1", "0")))
+            .expectNext("0")
+            .then(() -> this.multiplexer.stream("test-source-id-2").subscribe())
+            .then(() -> await(second::hasDownstreams))
+            .then(() -> assertThat(first.hasDownstreams()).isTrue())
+            .then(() -> first.onNext(envelope("test-source-id-1", "1")))
+            .then(() -> first.onNext(envelope("test-source-id-1", "1")))
+            .expectNext("1", "1")
+            .then(() -> second.onNext(envelope("test-source-id-1", "1")))
+            .then(() -> second.onNext(envelope("test-source-id-1", "1")))
+            .then(() -> second.onNext(envelope("test-source-id-1", "2")))
+            .then(() -> second.onNext(envelope("test-source-id-1", "2")))
+            .expectNext("2", "2")
+            .then(() -> assertThat(first.hasDownstreams()).isFalse())
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        Instant finish = Instant.now().plus(Duration.ofSeconds(5));
+
+        while (!condition.getAsBoolean()) {
+            if (Instant.now().isAfter(finish)) {
+                throw new IllegalStateException("Condition not met in time");
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static Envelope envelope(String sourceId, String instanceId) {
+        return Envelope.builder()
+            .instanceId(instanceId)
+            .sourceId(sourceId)
+            .build();
+    }
+
+}
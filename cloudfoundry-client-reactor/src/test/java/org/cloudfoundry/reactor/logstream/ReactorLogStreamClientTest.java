@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.logstream;
+
+import org.cloudfoundry.loggregator.v2.Counter;
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.cloudfoundry.loggregator.v2.Gauge;
+import org.cloudfoundry.loggregator.v2.GaugeValue;
+import org.cloudfoundry.loggregator.v2.Log;
+import org.cloudfoundry.loggregator.v2.LogType;
+import org.cloudfoundry.logstream.ReadRequest;
+import org.cloudfoundry.reactor.AbstractRestTest;
+import org.cloudfoundry.reactor.InteractionContext;
+import org.cloudfoundry.reactor.TestRequest;
+import org.cloudfoundry.reactor.TestResponse;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ReactorLogStreamClientTest extends AbstractRestTest {
+
+    private final ReactorLogStreamClient logStreamClient = ReactorLogStreamClient.builder()
+        .connectionContext(CONNECTION_CONTEXT)
+        .root(this.root)
+        .tokenProvider(TOKEN_PROVIDER)
+        .build();
+
+    @Test
+    public void read() {
+        mockRead();
+
+        this.logStreamClient
+            .read(ReadRequest.builder()
+                .envelopeTypes(EnvelopeType.LOG, EnvelopeType.COUNTER, EnvelopeType.GAUGE)
+                .shardId("test-shard-id")
+                .sourceIds("test-source-id", "test-other-source-id")
+                .build())
+            .as(StepVerifier::create)
+            .consumeNextWith(envelope -> assertThat(envelope.getLog().getPayloadAsText()).isEqualTo("test-log-message"))
+            .expectNext(Envelope.builder()
+                .counter(Counter.builder()
+                    .delta(1L)
+                    .name("test-counter")
+                    .total(42L)
+                    .build())
+                .instanceId("1")
+                .sourceId("test-source-id")
+                .timestamp(1541620000500000000L)
+                .build())
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void readBatches() {
+        mockRead();
+
+        this.logStreamClient
+            .readBatches(ReadRequest.builder()
+                .envelopeTypes(EnvelopeType.LOG, EnvelopeType.COUNTER, EnvelopeType.GAUGE)
+                .shardId("test-shard-id")
+                .sourceIds("test-source-id", "test-other-source-id")
+                .build())
+            .as(StepVerifier::create)
+            .expectNext(EnvelopeBatch.builder()
+                .batch(Envelope.builder()
+                        .instanceId("0")
+                        .log(Log.builder()
+                            .payload("dGVzdC1sb2ctbWVzc2FnZQ==")
+                            .type(LogType.OUT)
+                            .build())
+                        .sourceId("test-source-id")
+                        .tag("source_type", "APP/PROC/WEB")
+                        .timestamp(1541620000000000000L)
+                        .build(),
+                    Envelope.builder()
+                        .counter(Counter.builder()
+                            .delta(1L)
+                            .name("test-counter")
+                            .total(42L)
+                            .build())
+                        .instanceId("1")
+                        .sourceId("test-source-id")
+                        .timestamp(1541620000500000000L)
+                        .build())
+                .build())
+            .expectNext(EnvelopeBatch.builder()
+                .batch(Envelope.builder()
+                    .gauge(Gauge.builder()
+                        .metric("cpu", GaugeValue.builder()
+                            .unit("percentage")
+                            .value(0.5)
+                            .build())
+                        .build())
+                    .instanceId("0")
+                    .sourceId("test-source-id")
+                    .timestamp(1541620001000000000L)
+                    .build())
+                .build())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private void mockRead() {
+        mockRequest(InteractionContext.builder()
+            .request(TestRequest.builder()
+                .method(GET).path("/v2/read?shard_id=test-shard-id&source_id=test-source-id&source_id=test-other-source-id&log&counter&gauge")
+                .build())
+            .response(TestResponse.builder()
+                .status(OK)
+                .contentType("text/event-stream")
+                .payload("fixtures/logstream/v2/GET_read_response.txt")
+                .build())
+            .build());
+    }
+
+}
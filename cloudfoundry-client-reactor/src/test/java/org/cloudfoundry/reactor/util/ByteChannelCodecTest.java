@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.reactor.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.ipc.netty.ByteBufFlux;
+import reactor.ipc.netty.http.client.HttpClientResponse;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class ByteChannelCodecTest {
+
+    @Test
+    public void cancelReleasesPendingBuffers() throws InterruptedException {
+        ByteBuf[] buffers = Stream.of("test-content-1", "test-content-2", "test-content-3")
+            .map(content -> Unpooled.copiedBuffer(content, StandardCharsets.UTF_8))
+            .toArray(ByteBuf[]::new);
+
+        HttpClientResponse response = mock(HttpClientResponse.class, RETURNS_SMART_NULLS);
+        when(response.receive()).thenReturn(ByteBufFlux.fromInbound(Flux.just(buffers).concatWith(Flux.never())));
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+
+        Disposable disposable = Mono.just(response)
+            .transform(ByteChannelCodec.write(Channels.newChannel(new OutputStream() {
+
+                @Override
+                public void write(int b) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    writing.countDown();
+
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+            })))
+            .subscribe();
+
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        disposable.dispose();
+        proceed.countDown();
+
+        await(() -> Stream.of(buffers).allMatch(buffer -> buffer.refCnt() == 1));
+    }
+
+    @Test
+    public void write() {
+        HttpClientResponse response = mock(HttpClientResponse.class, RETURNS_SMART_NULLS);
+        when(response.receive()).thenReturn(ByteBufFlux.fromInbound(Flux.just(Unpooled.copiedBuffer("test-content-1", StandardCharsets.UTF_8),
+            Unpooled.copiedBuffer("test-content-2", StandardCharsets.UTF_8))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Mono.just(response)
+            .transform(ByteChannelCodec.write(Channels.newChannel(out)))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("test-content-1test-content-2");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        Instant finish = Instant.now().plus(Duration.ofSeconds(5));
+
+        while (!condition.getAsBoolean()) {
+            if (Instant.now().isAfter(finish)) {
+                throw new IllegalStateException("Condition not met in time");
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+}
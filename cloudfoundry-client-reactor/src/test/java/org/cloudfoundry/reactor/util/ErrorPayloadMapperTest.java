@@ -17,10 +17,13 @@
 package org.cloudfoundry.reactor.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
 import org.cloudfoundry.UnknownCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
 import org.cloudfoundry.client.v3.ClientV3Exception;
 import org.cloudfoundry.uaa.UaaException;
+import org.junit.Before;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 import reactor.core.publisher.Mono;
@@ -31,9 +34,12 @@ import reactor.test.StepVerifier;
 import java.io.IOException;
 import java.time.Duration;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.RETRY_AFTER;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
@@ -41,10 +47,17 @@ import static org.mockito.Mockito.when;
 
 public final class ErrorPayloadMapperTest {
 
+    private final HttpHeaders headers = new DefaultHttpHeaders();
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final HttpClientResponse response = mock(HttpClientResponse.class, RETURNS_SMART_NULLS);
 
+    @Before
+    public void mockHeaders() {
+        when(this.response.responseHeaders()).thenReturn(this.headers);
+    }
+
     @Test
     public void clientV2BadPayload() throws IOException {
         when(this.response.status()).thenReturn(BAD_REQUEST);
@@ -89,6 +102,22 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void clientV2RetryAfter() throws IOException {
+        when(this.response.status()).thenReturn(TOO_MANY_REQUESTS);
+        when(this.response.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/client/v2/error_response.json").getFile().toPath()));
+        this.headers.set(RETRY_AFTER, "30");
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.clientV2(this.objectMapper))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(ClientV2Exception.class)
+                .extracting("statusCode", "retryAfter")
+                .containsExactly(TOO_MANY_REQUESTS.code(), Duration.ofSeconds(30)))
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void clientV2ServerError() throws IOException {
         when(this.response.status()).thenReturn(INTERNAL_SERVER_ERROR);
@@ -155,6 +184,22 @@ public final class ErrorPayloadMapperTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void clientV3RetryAfterBadPayload() throws IOException {
+        when(this.response.status()).thenReturn(SERVICE_UNAVAILABLE);
+        when(this.response.receive()).thenReturn(ByteBufFlux.fromPath(new ClassPathResource("fixtures/invalid_error_response.json").getFile().toPath()));
+        this.headers.set(RETRY_AFTER, "5");
+
+        Mono.just(this.response)
+            .transform(ErrorPayloadMapper.clientV3(this.objectMapper))
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t)
+                .isInstanceOf(UnknownCloudFoundryException.class)
+                .extracting("statusCode", "retryAfter")
+                .containsExactly(SERVICE_UNAVAILABLE.code(), Duration.ofSeconds(5)))
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void clientV3ServerError() throws IOException {
         when(this.response.status()).thenReturn(INTERNAL_SERVER_ERROR);
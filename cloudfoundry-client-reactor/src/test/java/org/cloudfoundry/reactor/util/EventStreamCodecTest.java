@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package org.cloudfoundry.reactor.routing.v1.tcproutes;
+package org.cloudfoundry.reactor.util;
 
 import org.cloudfoundry.reactor.AbstractRestTest;
 import org.cloudfoundry.reactor.InteractionContext;
@@ -38,7 +38,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/all-data.txt")
+                .payload("org/cloudfoundry/reactor/util/all-data.txt")
                 .build())
             .build());
 
@@ -68,7 +68,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/colon-spacing.txt")
+                .payload("org/cloudfoundry/reactor/util/colon-spacing.txt")
                 .build())
             .build());
 
@@ -94,7 +94,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/random-colons.txt")
+                .payload("org/cloudfoundry/reactor/util/random-colons.txt")
                 .build())
             .build());
 
@@ -121,7 +121,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/three-lines.txt")
+                .payload("org/cloudfoundry/reactor/util/three-lines.txt")
                 .build())
             .build());
 
@@ -146,7 +146,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/with-comment.txt")
+                .payload("org/cloudfoundry/reactor/util/with-comment.txt")
                 .build())
             .build());
 
@@ -177,7 +177,7 @@ public final class EventStreamCodecTest extends AbstractRestTest {
                 .build())
             .response(TestResponse.builder()
                 .status(OK)
-                .payload("org/cloudfoundry/reactor/routing/v1/tcproutes/with-event-types.txt")
+                .payload("org/cloudfoundry/reactor/util/with-event-types.txt")
                 .build())
             .build());
 
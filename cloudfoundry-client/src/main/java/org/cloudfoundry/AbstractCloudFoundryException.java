@@ -16,6 +16,8 @@
 
 package org.cloudfoundry;
 
+import java.time.Duration;
+
 /**
  * An abstract base class for all Cloud Foundry-specific exceptions
  */
@@ -23,6 +25,8 @@ public abstract class AbstractCloudFoundryException extends RuntimeException {
 
     private static final long serialVersionUID = -3767690104362198649L;
 
+    private final Duration retryAfter;
+
     private final Integer statusCode;
 
     /**
@@ -31,10 +35,28 @@ public abstract class AbstractCloudFoundryException extends RuntimeException {
      * @param statusCode the status code
      */
     protected AbstractCloudFoundryException(Integer statusCode, String message) {
+        this(statusCode, message, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param retryAfter the delay requested by the server before the request is retried
+     */
+    protected AbstractCloudFoundryException(Integer statusCode, String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
         this.statusCode = statusCode;
     }
 
+    /**
+     * Returns the delay requested by the server before the request is retried, or {@code null} if the server did not request one
+     */
+    public Duration getRetryAfter() {
+        return this.retryAfter;
+    }
+
     /**
      * Returns the status code of the error
      */
@@ -16,6 +16,8 @@
 
 package org.cloudfoundry;
 
+import java.time.Duration;
+
 /**
  * A exception representing a Cloud Foundry error that cannot be mapped to any other error.
  */
@@ -32,7 +34,18 @@ public final class UnknownCloudFoundryException extends AbstractCloudFoundryExce
      * @param payload    the payload of the error
      */
     public UnknownCloudFoundryException(Integer statusCode, String payload) {
-        super(statusCode, "Unknown Cloud Foundry Exception");
+        this(statusCode, payload, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param payload    the payload of the error
+     * @param retryAfter the delay requested by the server before the request is retried
+     */
+    public UnknownCloudFoundryException(Integer statusCode, String payload, Duration retryAfter) {
+        super(statusCode, "Unknown Cloud Foundry Exception", retryAfter);
         this.payload = payload;
     }
 
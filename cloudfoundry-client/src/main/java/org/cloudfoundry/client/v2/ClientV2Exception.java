@@ -18,6 +18,8 @@ package org.cloudfoundry.client.v2;
 
 import org.cloudfoundry.AbstractCloudFoundryException;
 
+import java.time.Duration;
+
 /**
  * An exception encapsulating an error returned from Cloud Foundry V2 APIs
  */
@@ -40,7 +42,20 @@ public final class ClientV2Exception extends AbstractCloudFoundryException {
      * @param errorCode   the error code
      */
     public ClientV2Exception(Integer statusCode, Integer code, String description, String errorCode) {
-        super(statusCode, String.format("%s(%d): %s", errorCode, code, description));
+        this(statusCode, code, description, errorCode, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode  the status code
+     * @param code        the code
+     * @param description the description
+     * @param errorCode   the error code
+     * @param retryAfter  the delay requested by the server before the request is retried
+     */
+    public ClientV2Exception(Integer statusCode, Integer code, String description, String errorCode, Duration retryAfter) {
+        super(statusCode, String.format("%s(%d): %s", errorCode, code, description), retryAfter);
         this.code = code;
         this.description = description;
         this.errorCode = errorCode;
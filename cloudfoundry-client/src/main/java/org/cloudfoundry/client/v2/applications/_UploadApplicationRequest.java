@@ -31,7 +31,7 @@ import java.util.List;
 abstract class _UploadApplicationRequest {
 
     /**
-     * A binary zip file containing the application bits
+     * A binary zip file containing the application bits, or a directory containing them.  A directory is compressed as it is uploaded, omitting the files listed in the resources.
      */
     @JsonIgnore
     abstract Path getApplication();
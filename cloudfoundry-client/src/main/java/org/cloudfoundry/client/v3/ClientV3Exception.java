@@ -18,6 +18,7 @@ package org.cloudfoundry.client.v3;
 
 import org.cloudfoundry.AbstractCloudFoundryException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,7 +38,18 @@ public final class ClientV3Exception extends AbstractCloudFoundryException {
      * @param errors     the errors
      */
     public ClientV3Exception(Integer statusCode, List<Error> errors) {
-        super(statusCode, errors.stream().map(ClientV3Exception::toErrorString).collect(Collectors.joining(", ")));
+        this(statusCode, errors, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param statusCode the status code
+     * @param errors     the errors
+     * @param retryAfter the delay requested by the server before the request is retried
+     */
+    public ClientV3Exception(Integer statusCode, List<Error> errors, Duration retryAfter) {
+        super(statusCode, errors.stream().map(ClientV3Exception::toErrorString).collect(Collectors.joining(", ")), retryAfter);
         this.errors = errors;
     }
 
@@ -19,6 +19,8 @@ package org.cloudfoundry.client.v3.packages;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.channels.WritableByteChannel;
+
 /**
  * Main entry point to the Cloud Foundry Packages Client API
  */
@@ -56,6 +58,16 @@ public interface Packages {
      */
     Flux<byte[]> download(DownloadPackageRequest request);
 
+    /**
+     * Makes the <a href="http://v3-apidocs.cloudfoundry.org/version/3.27.0/index.html#download-package-bits">Download the bits for a package</a> request, writing the response directly to a
+     * {@link WritableByteChannel}.  The channel is not closed when the download completes.
+     *
+     * @param request the Download Package request
+     * @param channel the channel to write the response to
+     * @return completion when the response has been written
+     */
+    Mono<Void> download(DownloadPackageRequest request, WritableByteChannel channel);
+
     /**
      * Makes the <a href="http://v3-apidocs.cloudfoundry.org/version/3.27.0/index.html#get-a-package">Get Package</a> request
      *
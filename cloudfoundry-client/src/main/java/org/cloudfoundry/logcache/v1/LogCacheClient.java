@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logcache.v1;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Main entry point to the Log Cache Client API
+ */
+public interface LogCacheClient {
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/log-cache-release/tree/develop/src#get-apiv1meta">Meta</a> request
+     *
+     * @param request the Meta request
+     * @return the response to the Meta request
+     */
+    Mono<MetaResponse> meta(MetaRequest request);
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/log-cache-release/tree/develop/src#get-apiv1query">Query</a> request
+     *
+     * @param request the Query request
+     * @return the response to the Query request
+     */
+    Mono<QueryResponse> query(QueryRequest request);
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/log-cache-release/tree/develop/src#get-apiv1query_range">Query Range</a> request
+     *
+     * @param request the Query Range request
+     * @return the response to the Query Range request
+     */
+    Mono<QueryResponse> queryRange(QueryRangeRequest request);
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/log-cache-release/tree/develop/src#get-apiv1readsource-id">Read</a> request
+     *
+     * @param request the Read request
+     * @return the response to the Read request
+     */
+    Mono<ReadResponse> read(ReadRequest request);
+
+}
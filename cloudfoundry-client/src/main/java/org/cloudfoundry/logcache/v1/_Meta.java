@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logcache.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Metadata about the envelopes cached for a source
+ */
+@JsonDeserialize
+@Value.Immutable
+abstract class _Meta {
+
+    /**
+     * The number of envelopes cached
+     */
+    @JsonProperty("count")
+    @Nullable
+    abstract Long getCount();
+
+    /**
+     * The number of envelopes that have expired from the cache
+     */
+    @JsonProperty("expired")
+    @Nullable
+    abstract Long getExpired();
+
+    /**
+     * UNIX timestamp (in nanoseconds) of the newest envelope cached
+     */
+    @JsonProperty("newestTimestamp")
+    @Nullable
+    abstract Long getNewestTimestamp();
+
+    /**
+     * UNIX timestamp (in nanoseconds) of the oldest envelope cached
+     */
+    @JsonProperty("oldestTimestamp")
+    @Nullable
+    abstract Long getOldestTimestamp();
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logcache.v1;
+
+import org.immutables.value.Value;
+
+/**
+ * The request payload for the Query Range operation
+ */
+@Value.Immutable
+abstract class _QueryRangeRequest {
+
+    /**
+     * The end of the range, either as a UNIX timestamp (in seconds) or in RFC 3339 format
+     */
+    abstract String getEnd();
+
+    /**
+     * The PromQL query
+     */
+    abstract String getQuery();
+
+    /**
+     * The start of the range, either as a UNIX timestamp (in seconds) or in RFC 3339 format
+     */
+    abstract String getStart();
+
+    /**
+     * The resolution step, either as a duration (e.g. {@code 15s}) or a number of seconds
+     */
+    abstract String getStep();
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logcache.v1;
+
+import org.cloudfoundry.Nullable;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * The request payload for the Read operation
+ */
+@Value.Immutable
+abstract class _ReadRequest {
+
+    /**
+     * Whether to return the envelopes in descending order
+     */
+    @Nullable
+    abstract Boolean getDescending();
+
+    /**
+     * UNIX timestamp (in nanoseconds) of the end of the range to read (exclusive).  Defaults to now.
+     */
+    @Nullable
+    abstract Long getEndTime();
+
+    /**
+     * The envelope types to read.  If none are specified, envelopes of all types are read.
+     */
+    abstract List<EnvelopeType> getEnvelopeTypes();
+
+    /**
+     * The maximum number of envelopes to return.  The server caps this at 1000.
+     */
+    @Nullable
+    abstract Integer getLimit();
+
+    /**
+     * The source id
+     */
+    abstract String getSourceId();
+
+    /**
+     * UNIX timestamp (in nanoseconds) of the start of the range to read (inclusive).  Defaults to the beginning of the cache.
+     */
+    @Nullable
+    abstract Long getStartTime();
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.loggregator.v2;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The type of an {@link Envelope}
+ */
+public enum EnvelopeType {
+
+    /**
+     * An envelope containing a {@link Counter}
+     */
+    COUNTER("COUNTER"),
+
+    /**
+     * An envelope containing an {@link Event}
+     */
+    EVENT("EVENT"),
+
+    /**
+     * An envelope containing a {@link Gauge}
+     */
+    GAUGE("GAUGE"),
+
+    /**
+     * An envelope containing a {@link Log}
+     */
+    LOG("LOG"),
+
+    /**
+     * An envelope containing a {@link Timer}
+     */
+    TIMER("TIMER");
+
+    private final String value;
+
+    EnvelopeType(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static EnvelopeType from(String s) {
+        switch (s.toLowerCase()) {
+            case "counter":
+                return COUNTER;
+            case "event":
+                return EVENT;
+            case "gauge":
+                return GAUGE;
+            case "log":
+                return LOG;
+            case "timer":
+                return TIMER;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown envelope type: %s", s));
+        }
+    }
+
+    @JsonValue
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.loggregator.v2;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The type of a {@link Log}
+ */
+public enum LogType {
+
+    /**
+     * Log written to standard error
+     */
+    ERR("ERR"),
+
+    /**
+     * Log written to standard out
+     */
+    OUT("OUT");
+
+    private final String value;
+
+    LogType(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static LogType from(String s) {
+        switch (s.toLowerCase()) {
+            case "err":
+                return ERR;
+            case "out":
+                return OUT;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown log type: %s", s));
+        }
+    }
+
+    @JsonValue
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+}
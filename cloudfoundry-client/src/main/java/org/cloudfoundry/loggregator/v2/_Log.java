@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.loggregator.v2;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.cloudfoundry.Nullable;
+import org.immutables.value.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A log line
+ */
+@JsonDeserialize
+@Value.Immutable
+abstract class _Log {
+
+    /**
+     * The base64-encoded payload of the log
+     */
+    @JsonProperty("payload")
+    @Nullable
+    abstract String getPayload();
+
+    /**
+     * The payload of the log, decoded as UTF-8 text
+     */
+    @JsonIgnore
+    @Nullable
+    public String getPayloadAsText() {
+        String payload = getPayload();
+        return payload == null ? null : new String(Base64.getDecoder().decode(payload), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The type of the log
+     */
+    @JsonProperty("type")
+    @Nullable
+    abstract LogType getType();
+
+}
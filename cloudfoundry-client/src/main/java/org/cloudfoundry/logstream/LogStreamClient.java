@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logstream;
+
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
+import reactor.core.publisher.Flux;
+
+/**
+ * Main entry point to the Log Stream (Loggregator v2 Reverse Log Proxy Gateway) Client API
+ */
+public interface LogStreamClient {
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/loggregator-release/blob/develop/docs/rlp_gateway.md">Read</a> request, providing each envelope individually
+     *
+     * @param request the Read request
+     * @return the envelopes from the stream
+     */
+    Flux<Envelope> read(ReadRequest request);
+
+    /**
+     * Makes the <a href="https://github.com/cloudfoundry/loggregator-release/blob/develop/docs/rlp_gateway.md">Read</a> request, providing the envelopes in the batches delivered by the
+     * gateway
+     *
+     * @param request the Read request
+     * @return the envelope batches from the stream
+     */
+    Flux<EnvelopeBatch> readBatches(ReadRequest request);
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logstream;
+
+import org.cloudfoundry.Nullable;
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * The request payload for the Read operation
+ */
+@Value.Immutable
+abstract class _ReadRequest {
+
+    @Value.Check
+    void check() {
+        if (getEnvelopeTypes().isEmpty()) {
+            throw new IllegalStateException("Cannot build ReadRequest, at least one envelope type must be provided");
+        }
+    }
+
+    /**
+     * A name that, when shared by several streams, causes the gateway to return the same shard of envelopes to each of them
+     */
+    @Nullable
+    abstract String getDeterministicName();
+
+    /**
+     * The envelope types to select
+     */
+    abstract List<EnvelopeType> getEnvelopeTypes();
+
+    /**
+     * The shard id.  Streams sharing a shard id split the envelopes between them.
+     */
+    @Nullable
+    abstract String getShardId();
+
+    /**
+     * The source ids to select.  If none are specified, envelopes from all sources are selected.
+     */
+    abstract List<String> getSourceIds();
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.logcache.v1;
+
+import org.junit.Test;
+
+public final class QueryRangeRequestTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void noEnd() {
+        QueryRangeRequest.builder()
+            .query("test-query")
+            .start("1541620000")
+            .step("15s")
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noQuery() {
+        QueryRangeRequest.builder()
+            .end("1541620060")
+            .start("1541620000")
+            .step("15s")
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noStart() {
+        QueryRangeRequest.builder()
+            .end("1541620060")
+            .query("test-query")
+            .step("15s")
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noStep() {
+        QueryRangeRequest.builder()
+            .end("1541620060")
+            .query("test-query")
+            .start("1541620000")
+            .build();
+    }
+
+    @Test
+    public void valid() {
+        QueryRangeRequest.builder()
+            .end("1541620060")
+            .query("test-query")
+            .start("1541620000")
+            .step("15s")
+            .build();
+    }
+
+}
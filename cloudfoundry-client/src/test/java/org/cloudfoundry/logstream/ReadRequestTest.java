@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.logstream;
+
+import org.cloudfoundry.loggregator.v2.EnvelopeType;
+import org.junit.Test;
+
+public final class ReadRequestTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void noEnvelopeTypes() {
+        ReadRequest.builder()
+            .sourceId("test-source-id")
+            .build();
+    }
+
+    @Test
+    public void valid() {
+        ReadRequest.builder()
+            .envelopeType(EnvelopeType.LOG)
+            .sourceId("test-source-id")
+            .build();
+    }
+
+}
@@ -27,6 +27,7 @@ import org.cloudfoundry.networking.NetworkingClient;
 import org.cloudfoundry.operations.advanced.Advanced;
 import org.cloudfoundry.operations.advanced.DefaultAdvanced;
 import org.cloudfoundry.operations.applications.Applications;
+import org.cloudfoundry.operations.applications.CompletionDetection;
 import org.cloudfoundry.operations.applications.DefaultApplications;
 import org.cloudfoundry.operations.buildpacks.Buildpacks;
 import org.cloudfoundry.operations.buildpacks.DefaultBuildpacks;
@@ -52,6 +53,7 @@ import org.cloudfoundry.operations.stacks.DefaultStacks;
 import org.cloudfoundry.operations.stacks.Stacks;
 import org.cloudfoundry.operations.useradmin.DefaultUserAdmin;
 import org.cloudfoundry.operations.useradmin.UserAdmin;
+import org.cloudfoundry.operations.util.IdentityCache;
 import org.cloudfoundry.routing.RoutingClient;
 import org.cloudfoundry.uaa.UaaClient;
 import org.cloudfoundry.util.ExceptionUtils;
@@ -80,7 +82,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Applications applications() {
-        return new DefaultApplications(getCloudFoundryClientPublisher(), getDopplerClientPublisher(), getSpaceId());
+        return new DefaultApplications(getCloudFoundryClientPublisher(), getDopplerClientPublisher(), getCompletionDetection(), getIdentityCache(), getSpaceId());
     }
 
     @Override
@@ -128,7 +130,7 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
     @Override
     @Value.Derived
     public Services services() {
-        return new DefaultServices(getCloudFoundryClientPublisher(), getOrganizationId(), getSpaceId());
+        return new DefaultServices(getCloudFoundryClientPublisher(), getIdentityCache(), getOrganizationId(), getSpaceId());
     }
 
     @Override
@@ -173,6 +175,14 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
             .orElse(Mono.error(new IllegalStateException("CloudFoundryClient must be set")));
     }
 
+    /**
+     * How the completion of application staging and startup is detected
+     */
+    @Value.Default
+    CompletionDetection getCompletionDetection() {
+        return CompletionDetection.POLLING;
+    }
+
     /**
      * The {@link DopplerClient} to use for operations functionality
      */
@@ -186,6 +196,21 @@ abstract class _DefaultCloudFoundryOperations implements CloudFoundryOperations
             .orElse(Mono.error(new IllegalStateException("DopplerClient must be set")));
     }
 
+    /**
+     * The cache of application and service instance name to id resolutions shared by all operations.  Renames and deletes performed through these operations invalidate their entries.
+     */
+    @Value.Derived
+    IdentityCache getIdentityCache() {
+        return getIdentityCacheDuration()
+            .map(duration -> new IdentityCache(duration, IdentityCache.DEFAULT_MAXIMUM_SIZE))
+            .orElseGet(IdentityCache::disabled);
+    }
+
+    /**
+     * The duration that application and service instance name to id resolutions should be cached.  If not set, names are resolved on every operation.
+     */
+    abstract Optional<Duration> getIdentityCacheDuration();
+
     /**
      * The {@link NetworkingClient} to use for operations functionality
      */
@@ -67,6 +67,13 @@ public interface Applications {
      */
     Mono<ApplicationDetail> get(GetApplicationRequest request);
 
+    /**
+     * Gets information for all applications in the targeted space.  Unlike repeated calls to {@link #get(GetApplicationRequest)}, the details are assembled from a small number of bulk requests.
+     *
+     * @return the applications
+     */
+    Flux<ApplicationDetail> getAll();
+
     /**
      * Gets the manifest for a specific application
      *
@@ -130,6 +137,15 @@ public interface Applications {
      */
     Mono<Void> push(PushApplicationRequest request);
 
+    /**
+     * Push a new version of an application alongside the running version, move the running version's routes to it once all of its instances are running, and then delete the
+     * running version
+     *
+     * @param request the push blue green application request
+     * @return a completion indicator
+     */
+    Mono<Void> pushBlueGreen(PushBlueGreenApplicationRequest request);
+
     /**
      * Push a manifest
      *
@@ -170,6 +186,14 @@ public interface Applications {
      */
     Mono<Void> restartInstance(RestartApplicationInstanceRequest request);
 
+    /**
+     * Restart the instances of a specific application a batch at a time, waiting for each batch to be running before restarting the next
+     *
+     * @param request the rolling restart application request
+     * @return a completion indicator
+     */
+    Mono<Void> rollingRestart(RollingRestartApplicationRequest request);
+
     /**
      * Run a one-off task on an application
      *
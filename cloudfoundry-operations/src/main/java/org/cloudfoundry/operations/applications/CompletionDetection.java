@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+/**
+ * How the completion of application staging and startup is detected
+ */
+public enum CompletionDetection {
+
+    /**
+     * The application's log stream is watched for staging and container lifecycle messages, each of which triggers an immediate check of the application's state.  Polling with an exponential
+     * backoff continues as a fallback.
+     */
+    EVENTS,
+
+    /**
+     * The application's state is polled with an exponential backoff
+     */
+    POLLING
+
+}
@@ -16,7 +16,9 @@
 
 package org.cloudfoundry.operations.applications;
 
+import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.ClientV2Exception;
 import org.cloudfoundry.client.v2.OrderDirection;
 import org.cloudfoundry.client.v2.applications.AbstractApplicationResource;
 import org.cloudfoundry.client.v2.applications.ApplicationEnvironmentRequest;
@@ -32,6 +34,7 @@ import org.cloudfoundry.client.v2.applications.CopyApplicationRequest;
 import org.cloudfoundry.client.v2.applications.CopyApplicationResponse;
 import org.cloudfoundry.client.v2.applications.CreateApplicationRequest;
 import org.cloudfoundry.client.v2.applications.CreateApplicationResponse;
+import org.cloudfoundry.client.v2.applications.DownloadApplicationRequest;
 import org.cloudfoundry.client.v2.applications.InstanceStatistics;
 import org.cloudfoundry.client.v2.applications.ListApplicationRoutesRequest;
 import org.cloudfoundry.client.v2.applications.ListApplicationServiceBindingsRequest;
@@ -83,6 +86,13 @@ import org.cloudfoundry.client.v2.stacks.StackResource;
 import org.cloudfoundry.client.v3.Resource;
 import org.cloudfoundry.client.v3.applications.ApplicationResource;
 import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
+import org.cloudfoundry.client.v3.processes.GetProcessStatisticsRequest;
+import org.cloudfoundry.client.v3.processes.GetProcessStatisticsResponse;
+import org.cloudfoundry.client.v3.processes.ListProcessesRequest;
+import org.cloudfoundry.client.v3.processes.ProcessResource;
+import org.cloudfoundry.client.v3.processes.ProcessState;
+import org.cloudfoundry.client.v3.processes.ProcessStatistics;
+import org.cloudfoundry.client.v3.processes.ProcessUsage;
 import org.cloudfoundry.client.v3.tasks.CancelTaskRequest;
 import org.cloudfoundry.client.v3.tasks.CancelTaskResponse;
 import org.cloudfoundry.client.v3.tasks.CreateTaskRequest;
@@ -94,17 +104,22 @@ import org.cloudfoundry.doppler.EventType;
 import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
+import org.cloudfoundry.operations.util.IdentityCache;
 import org.cloudfoundry.operations.util.OperationsLogging;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.DelayTimeoutException;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.FileUtils;
+import org.cloudfoundry.util.FingerprintCache;
 import org.cloudfoundry.util.FluentMap;
+import org.cloudfoundry.util.Jitter;
 import org.cloudfoundry.util.JobUtils;
+import org.cloudfoundry.util.PackageManifestCache;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceMatchingUtils;
 import org.cloudfoundry.util.ResourceUtils;
 import org.cloudfoundry.util.SortingUtils;
+import org.reactivestreams.Publisher;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -113,18 +128,26 @@ import reactor.util.function.Tuple4;
 import reactor.util.function.Tuples;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -135,6 +158,8 @@ import static org.cloudfoundry.util.tuple.TupleUtils.predicate;
 
 public final class DefaultApplications implements Applications {
 
+    private static final int CF_APP_PACKAGE_NOT_FOUND = 150002;
+
     private static final int CF_APP_STOPPED_STATS_ERROR = 200003;
 
     private static final int CF_BUILDPACK_COMPILED_FAILED = 170004;
@@ -153,31 +178,55 @@ public final class DefaultApplications implements Applications {
 
     private static final String[] ENTRY_FIELDS_NORMAL = {"instances", "memory", "state", "environment_json"};
 
+    private static final int BULK_STATISTICS_CONCURRENCY = 8;
+
+    private static final int LOG_MESSAGE_BUFFER_SIZE = 1_000;
+
     private static final Comparator<LogMessage> LOG_MESSAGE_COMPARATOR = Comparator.comparing(LogMessage::getTimestamp);
 
     private static final Duration LOG_MESSAGE_TIMESPAN = Duration.ofMillis(500);
 
     private static final int MAX_NUMBER_OF_RECENT_EVENTS = 50;
 
+    private static final int RECENT_LOG_MESSAGE_BUFFER_SIZE = 100;
+
+    private static final List<String> STAGING_LIFECYCLE_MESSAGES = Arrays.asList("Exit status", "Staging complete", "Uploading complete");
+
     private static final String STARTED_STATE = "STARTED";
 
     private static final String STOPPED_STATE = "STOPPED";
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final CompletionDetection completionDetection;
+
     private final Mono<DopplerClient> dopplerClient;
 
+    private final IdentityCache identityCache;
+
     private final RandomWords randomWords;
 
     private final Mono<String> spaceId;
 
     public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, Mono<String> spaceId) {
-        this(cloudFoundryClient, dopplerClient, new WordListRandomWords(), spaceId);
+        this(cloudFoundryClient, dopplerClient, CompletionDetection.POLLING, IdentityCache.disabled(), spaceId);
+    }
+
+    public DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, IdentityCache identityCache,
+                               Mono<String> spaceId) {
+        this(cloudFoundryClient, dopplerClient, completionDetection, identityCache, new WordListRandomWords(), spaceId);
     }
 
     DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, RandomWords randomWords, Mono<String> spaceId) {
+        this(cloudFoundryClient, dopplerClient, CompletionDetection.POLLING, IdentityCache.disabled(), randomWords, spaceId);
+    }
+
+    DefaultApplications(Mono<CloudFoundryClient> cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, IdentityCache identityCache,
+                        RandomWords randomWords, Mono<String> spaceId) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.completionDetection = completionDetection;
         this.dopplerClient = dopplerClient;
+        this.identityCache = identityCache;
         this.randomWords = randomWords;
         this.spaceId = spaceId;
     }
@@ -188,14 +237,14 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId),
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId),
                 getApplicationIdFromOrgSpace(cloudFoundryClient, request.getTargetName(), spaceId, request.getTargetOrganization(), request.getTargetSpace())
             )))
             .flatMap(function((cloudFoundryClient, sourceApplicationId, targetApplicationId) -> copyBits(cloudFoundryClient, request.getStagingTimeout(), sourceApplicationId, targetApplicationId)
                 .thenReturn(Tuples.of(cloudFoundryClient, targetApplicationId))))
             .filter(predicate((cloudFoundryClient, targetApplicationId) -> Optional.ofNullable(request.getRestart()).orElse(false)))
-            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient, request.getTargetName(), targetApplicationId, request.getStagingTimeout(),
-                request.getStartupTimeout())))
+            .flatMap(function((cloudFoundryClient, targetApplicationId) -> restartApplication(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getTargetName(),
+                targetApplicationId, request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Copy Application Source"))
             .checkpoint();
     }
@@ -210,6 +259,9 @@ public final class DefaultApplications implements Applications {
                 .thenReturn(Tuples.of(cloudFoundryClient, applicationId))))
             .delayUntil(function(DefaultApplications::removeServiceBindings))
             .flatMap(function(DefaultApplications::requestDeleteApplication))
+            .then(this.spaceId)
+            .doOnNext(spaceId -> this.identityCache.invalidate(IdentityCache.APPLICATION, spaceId, request.getName()))
+            .then()
             .transform(OperationsLogging.log("Delete Application"))
             .checkpoint();
     }
@@ -256,13 +308,30 @@ public final class DefaultApplications implements Applications {
             .checkpoint();
     }
 
+    @Override
+    public Flux<ApplicationDetail> getAll() {
+        return Mono
+            .zip(this.cloudFoundryClient, this.spaceId)
+            .flatMapMany(function((cloudFoundryClient, spaceId) -> Mono
+                .zip(
+                    requestSpaceSummary(cloudFoundryClient, spaceId),
+                    getStackNames(cloudFoundryClient),
+                    getWebProcessIds(cloudFoundryClient, spaceId)
+                )
+                .flatMapMany(function((spaceSummary, stackNames, webProcessIds) -> extractApplications(spaceSummary)
+                    .flatMapSequential(application -> getInstanceDetails(cloudFoundryClient, application, webProcessIds)
+                        .map(instanceDetails -> toApplicationDetail(application, stackNames, instanceDetails)), BULK_STATISTICS_CONCURRENCY)))))
+            .transform(OperationsLogging.log("Get All Applications"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<ApplicationManifest> getApplicationManifest(GetApplicationManifestRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -283,7 +352,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function(DefaultApplications::requestApplicationEnvironment))
             .map(DefaultApplications::toApplicationEnvironments)
@@ -297,7 +366,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMapMany(function((cloudFoundryClient, applicationId) -> requestEvents(applicationId, cloudFoundryClient)
                 .take(Optional.ofNullable(request.getMaxNumberOfEvents()).orElse(MAX_NUMBER_OF_RECENT_EVENTS))))
@@ -345,7 +414,7 @@ public final class DefaultApplications implements Applications {
     public Flux<LogMessage> logs(LogsRequest request) {
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> getApplicationId(cloudFoundryClient, request.getName(), spaceId)))
+            .flatMap(function((cloudFoundryClient, spaceId) -> getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)))
             .flatMapMany(applicationId -> getLogs(this.dopplerClient, applicationId, request.getRecent()))
             .transform(OperationsLogging.log("Get Application Logs"))
             .checkpoint();
@@ -385,6 +454,8 @@ public final class DefaultApplications implements Applications {
             .manifest(builder.build())
             .dockerPassword(request.getDockerPassword())
             .dockerUsername(request.getDockerUsername())
+            .fingerprintCache(request.getFingerprintCache())
+            .incrementalCache(request.getIncrementalCache())
             .noStart(request.getNoStart())
             .stagingTimeout(request.getStagingTimeout())
             .startupTimeout(request.getStartupTimeout())
@@ -394,28 +465,27 @@ public final class DefaultApplications implements Applications {
     }
 
     @Override
-    public Mono<Void> pushManifest(PushApplicationManifestRequest request) {
+    public Mono<Void> pushBlueGreen(PushBlueGreenApplicationRequest request) {
+        String name = request.getManifest().getName();
+        String temporaryName = name + request.getTemporaryNameSuffix();
+
         return Mono
             .zip(this.cloudFoundryClient, this.spaceId)
-            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
-                getSpaceOrganizationId(cloudFoundryClient, spaceId),
-                Mono.just(spaceId)
-            )))
-            .flatMap(function((cloudFoundryClient, organizationId, spaceId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
-                listAvailableDomains(cloudFoundryClient, organizationId),
-                Mono.just(spaceId))))
-            .flatMapMany(function((cloudFoundryClient, availableDomains, spaceId) -> Flux.fromIterable(request.getManifests())
-                .flatMap(manifest -> {
-                    if (manifest.getPath() != null) {
-                        return pushApplication(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else if (!manifest.getDocker().getImage().isEmpty()) {
-                        return pushDocker(cloudFoundryClient, availableDomains, manifest, this.randomWords, request, spaceId);
-                    } else {
-                        throw new IllegalStateException("One of application or dockerImage must be supplied");
-                    }
+            .flatMap(function((cloudFoundryClient, spaceId) -> replaceApplication(cloudFoundryClient, this.dopplerClient, this.completionDetection, this.randomWords, request, spaceId)
+                .doFinally(signal -> {
+                    this.identityCache.invalidate(IdentityCache.APPLICATION, spaceId, name);
+                    this.identityCache.invalidate(IdentityCache.APPLICATION, spaceId, temporaryName);
                 })))
+            .transform(OperationsLogging.log("Push Blue Green Application"))
+            .checkpoint();
+    }
+
+    @Override
+    public Mono<Void> pushManifest(PushApplicationManifestRequest request) {
+        return Mono
+            .zip(this.cloudFoundryClient, this.spaceId)
+            .flatMapMany(function((cloudFoundryClient, spaceId) -> pushApplications(cloudFoundryClient, this.dopplerClient, this.completionDetection, this.randomWords, request,
+                spaceId)))
             .then()
             .transform(OperationsLogging.log("Push Manifest"))
             .checkpoint();
@@ -427,9 +497,14 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> requestUpdateApplicationName(cloudFoundryClient, applicationId, request.getNewName())))
+            .then(this.spaceId)
+            .doOnNext(spaceId -> {
+                this.identityCache.invalidate(IdentityCache.APPLICATION, spaceId, request.getName());
+                this.identityCache.invalidate(IdentityCache.APPLICATION, spaceId, request.getNewName());
+            })
             .then()
             .transform(OperationsLogging.log("Rename Application"))
             .checkpoint();
@@ -441,10 +516,10 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(), request.getStartupTimeout
-                ())))
+            .flatMap(function((cloudFoundryClient, applicationId) -> restageApplication(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getName(), applicationId,
+                request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restage Application"))
             .checkpoint();
     }
@@ -461,7 +536,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 stopApplicationIfNotStopped(cloudFoundryClient, resource)
             )))
-            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient, request.getName(), ResourceUtils.getId(stoppedApplication),
+            .flatMap(function((cloudFoundryClient, stoppedApplication) -> startApplicationAndWait(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getName(),
+                ResourceUtils.getId(stoppedApplication),
                 request.getStagingTimeout(), request.getStartupTimeout())))
             .transform(OperationsLogging.log("Restart Application"))
             .checkpoint();
@@ -473,13 +549,31 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> requestTerminateApplicationInstance(cloudFoundryClient, applicationId, String.valueOf(request.getInstanceIndex()))))
             .transform(OperationsLogging.log("Restart Application Instance"))
             .checkpoint();
     }
 
+    @Override
+    public Mono<Void> rollingRestart(RollingRestartApplicationRequest request) {
+        return Mono
+            .zip(this.cloudFoundryClient, this.spaceId)
+            .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
+                Mono.just(cloudFoundryClient),
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
+            )))
+            .flatMap(function((cloudFoundryClient, applicationId) -> getApplicationInstances(cloudFoundryClient, applicationId)
+                .flatMapIterable(response -> response.getInstances().entrySet())
+                .buffer(request.getBatchSize())
+                .concatMap(instances -> restartInstances(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getName(), applicationId, instances,
+                    request.getStartupTimeout()))
+                .then()))
+            .transform(OperationsLogging.log("Rolling Restart Application"))
+            .checkpoint();
+    }
+
     @Override
     public Mono<Task> runTask(RunApplicationTaskRequest request) {
         return Mono
@@ -501,14 +595,15 @@ public final class DefaultApplications implements Applications {
             .filter(predicate((cloudFoundryClient, spaceId) -> areModifiersPresent(request)))
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 requestUpdateApplicationScale(cloudFoundryClient, applicationId, request.getDiskLimit(), request.getInstances(), request.getMemoryLimit())
             )))
             .filter(predicate((cloudFoundryClient, resource) -> isRestartRequired(request, resource)))
-            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, request.getName(), ResourceUtils.getId(resource), request.getStagingTimeout(),
+            .flatMap(function((cloudFoundryClient, resource) -> restartApplication(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getName(), ResourceUtils.getId(resource),
+                request.getStagingTimeout(),
                 request.getStartupTimeout())))
             .transform(OperationsLogging.log("Scale Application"))
             .checkpoint();
@@ -535,7 +630,7 @@ public final class DefaultApplications implements Applications {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId) -> requestUpdateApplicationHealthCheckType(cloudFoundryClient, applicationId, request.getType())))
             .then()
@@ -561,7 +656,8 @@ public final class DefaultApplications implements Applications {
                 Mono.just(cloudFoundryClient),
                 getApplicationIdWhere(cloudFoundryClient, request.getName(), spaceId, isNotIn(STARTED_STATE))
             )))
-            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, request.getName(), applicationId, request.getStagingTimeout(),
+            .flatMap(function((cloudFoundryClient, applicationId) -> startApplicationAndWait(cloudFoundryClient, this.dopplerClient, this.completionDetection, request.getName(), applicationId,
+                request.getStagingTimeout(),
                 request.getStartupTimeout())))
             .transform(OperationsLogging.log("Start Application"))
             .checkpoint();
@@ -633,13 +729,13 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
-    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, String spaceId) {
+    private static Mono<Void> bindServices(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, Map<String, Mono<String>> serviceIds, String spaceId) {
         if (manifest.getServices() == null || manifest.getServices().size() == 0) {
             return Mono.empty();
         }
 
         return Flux.fromIterable(manifest.getServices())
-            .flatMap(serviceInstanceName -> getServiceId(cloudFoundryClient, serviceInstanceName, spaceId))
+            .flatMap(serviceInstanceName -> serviceIds.computeIfAbsent(serviceInstanceName, name -> getServiceId(cloudFoundryClient, name, spaceId).cache()))
             .flatMap(serviceInstanceId -> requestCreateServiceBinding(cloudFoundryClient, applicationId, serviceInstanceId)
                 .onErrorResume(ExceptionUtils.statusCode(CF_SERVICE_ALREADY_BOUND), t -> Mono.empty()))
             .then();
@@ -681,6 +777,18 @@ public final class DefaultApplications implements Applications {
             .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
     }
 
+    private static Mono<Void> deleteApplication(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        return removeServiceBindings(cloudFoundryClient, applicationId)
+            .then(requestDeleteApplication(cloudFoundryClient, applicationId));
+    }
+
+    private static Mono<Void> deleteApplicationIfExists(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
+        return requestApplications(cloudFoundryClient, application, spaceId)
+            .map(ResourceUtils::getId)
+            .flatMap(applicationId -> deleteApplication(cloudFoundryClient, applicationId))
+            .then();
+    }
+
     private static Mono<Void> deleteRoute(CloudFoundryClient cloudFoundryClient, String routeId, Duration completionTimeout) {
         return requestDeleteRoute(cloudFoundryClient, routeId)
             .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
@@ -707,6 +815,21 @@ public final class DefaultApplications implements Applications {
         }
     }
 
+    private static Mono<List<ResourceMatchingUtils.ArtifactMetadata>> downloadPackageManifest(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        return Mono
+            .using(() -> Files.createTempFile("package-", ".zip"),
+                file -> FileUtils.writeToFile(file, null, channel -> requestDownloadApplication(cloudFoundryClient, applicationId, channel))
+                    .onErrorResume(DefaultApplications::isPackageUnavailable, t -> Mono.empty())
+                    .flatMap(downloaded -> ResourceMatchingUtils.getArtifactMetadata(downloaded).collectList()),
+                file -> {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                });
+    }
+
     private static Statistics emptyApplicationStatistics() {
         return Statistics.builder()
             .usage(emptyApplicationUsage())
@@ -748,6 +871,16 @@ public final class DefaultApplications implements Applications {
         return Flux.fromIterable(getSpaceSummaryResponse.getApplications());
     }
 
+    private static Mono<Map<String, ResourceMatchingUtils.ArtifactMetadata>> fingerprintApplication(CloudFoundryClient cloudFoundryClient, ApplicationManifest manifest,
+                                                                                                     PushApplicationManifestRequest request, FingerprintCache fingerprintCache) {
+        if (manifest.getPath() == null || request.getIncrementalCache() != null) {
+            return Mono.just(Collections.emptyMap());
+        }
+
+        return getMatchedResources(cloudFoundryClient, manifest.getPath(), fingerprintCache)
+            .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.FINGERPRINTING));
+    }
+
     private static Mono<AbstractApplicationResource> getApplication(CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
         return requestApplications(cloudFoundryClient, application, spaceId)
             .single()
@@ -759,6 +892,10 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<String> getApplicationId(IdentityCache identityCache, CloudFoundryClient cloudFoundryClient, String application, String spaceId) {
+        return identityCache.get(IdentityCache.APPLICATION, spaceId, application, () -> getApplicationId(cloudFoundryClient, application, spaceId));
+    }
+
     private static Mono<String> getApplicationId(CloudFoundryClient cloudFoundryClient, ApplicationManifest manifest, String spaceId, String stackId) {
         return requestApplications(cloudFoundryClient, manifest.getName(), spaceId)
             .singleOrEmpty()
@@ -834,12 +971,31 @@ public final class DefaultApplications implements Applications {
             )));
     }
 
+    private static Mono<List<ResourceMatchingUtils.ArtifactMetadata>> getArtifactMetadata(Path application, FingerprintCache fingerprintCache) {
+        return ResourceMatchingUtils.getArtifactMetadata(application, fingerprintCache)
+            .collectList();
+    }
+
+    private static String getBuildpack(SpaceApplicationSummary summary) {
+        return Optional
+            .ofNullable(summary.getBuildpack())
+            .orElse(summary.getDetectedBuildpack());
+    }
+
     private static String getBuildpack(SummaryApplicationResponse response) {
         return Optional
             .ofNullable(response.getBuildpack())
             .orElse(response.getDetectedBuildpack());
     }
 
+    private static Function<Flux<Long>, Publisher<?>> getCompletionDelay(Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String applicationId, Duration timeout) {
+        if (CompletionDetection.EVENTS == completionDetection) {
+            return exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout, Jitter.FULL, getLifecycleLogs(dopplerClient, applicationId));
+        }
+
+        return exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout, Jitter.FULL);
+    }
+
     private static Mono<String> getDefaultDomainId(CloudFoundryClient cloudFoundryClient) {
         return requestSharedDomains(cloudFoundryClient)
             .filter(resource -> !Optional.ofNullable(ResourceUtils.getEntity(resource).getInternal()).orElse(false))
@@ -848,6 +1004,16 @@ public final class DefaultApplications implements Applications {
             .switchIfEmpty(ExceptionUtils.illegalArgument("No default domain found"));
     }
 
+    private static Mono<List<ResourceMatchingUtils.ArtifactMetadata>> getDeployedManifest(CloudFoundryClient cloudFoundryClient, PackageManifestCache packageManifestCache,
+                                                                                        String applicationId) {
+        return requestGetApplication(cloudFoundryClient, applicationId)
+            .flatMap(resource -> Mono.justOrEmpty(ResourceUtils.getEntity(resource).getPackageUpdatedAt()))
+            .flatMap(packageVersion -> Mono.justOrEmpty(packageManifestCache.get(applicationId, packageVersion))
+                .switchIfEmpty(downloadPackageManifest(cloudFoundryClient, applicationId)
+                    .doOnNext(manifest -> packageManifestCache.put(applicationId, packageVersion, manifest))))
+            .defaultIfEmpty(Collections.emptyList());
+    }
+
     private static String getDomainId(List<DomainSummary> availableDomains, String domainName) {
         return availableDomains.stream()
             .filter(domain -> domainName.equals(domain.getName()))
@@ -864,21 +1030,49 @@ public final class DefaultApplications implements Applications {
         return ResourceUtils.getEntity(resource).getEnvironmentJsons();
     }
 
+    private static Mono<List<InstanceDetail>> getInstanceDetails(CloudFoundryClient cloudFoundryClient, SpaceApplicationSummary application, Set<String> webProcessIds) {
+        // The web process of an application shares the application's id
+        if (!STARTED_STATE.equals(application.getState()) || !webProcessIds.contains(application.getId())) {
+            return Mono.just(Collections.emptyList());
+        }
+
+        return requestProcessStatistics(cloudFoundryClient, application.getId())
+            .flatMapMany(response -> Flux.fromIterable(response.getResources()))
+            .map(DefaultApplications::toInstanceDetail)
+            .collectList();
+    }
+
+    private static Flux<LogMessage> getLifecycleLogs(Mono<DopplerClient> dopplerClient, String applicationId) {
+        return requestLogsStream(dopplerClient, applicationId)
+            .filter(e -> EventType.LOG_MESSAGE == e.getEventType())
+            .map(Envelope::getLogMessage)
+            .filter(isLifecycleMessage());
+    }
+
     private static Flux<LogMessage> getLogs(Mono<DopplerClient> dopplerClient, String applicationId, Boolean recent) {
         if (Optional.ofNullable(recent).orElse(false)) {
             return requestLogsRecent(dopplerClient, applicationId)
                 .filter(e -> EventType.LOG_MESSAGE == e.getEventType())
                 .map(Envelope::getLogMessage)
-                .collectSortedList(LOG_MESSAGE_COMPARATOR)
-                .flatMapIterable(d -> d);
+                .compose(SortingUtils.partitioned(DefaultApplications::getLogSource, LOG_MESSAGE_COMPARATOR, RECENT_LOG_MESSAGE_BUFFER_SIZE));
         } else {
             return requestLogsStream(dopplerClient, applicationId)
                 .filter(e -> EventType.LOG_MESSAGE == e.getEventType())
                 .map(Envelope::getLogMessage)
-                .compose(SortingUtils.timespan(LOG_MESSAGE_COMPARATOR, LOG_MESSAGE_TIMESPAN));
+                .compose(SortingUtils.watermark(LogMessage::getTimestamp, LOG_MESSAGE_TIMESPAN, LOG_MESSAGE_BUFFER_SIZE));
         }
     }
 
+    private static String getLogSource(LogMessage logMessage) {
+        return logMessage.getSourceType() + "/" + logMessage.getSourceInstance();
+    }
+
+    private static Mono<Map<String, ResourceMatchingUtils.ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application,
+                                                                                                  FingerprintCache fingerprintCache) {
+        return ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, application, fingerprintCache)
+            .map(DefaultApplications::indexByPath);
+    }
+
     @SuppressWarnings("unchecked")
     private static Map<String, Object> getMetadataRequest(EventEntity entity) {
         Map<String, Optional<Object>> metadata = Optional
@@ -906,9 +1100,9 @@ public final class DefaultApplications implements Applications {
         }
     }
 
-    private static Mono<Optional<String>> getOptionalStackId(CloudFoundryClient cloudFoundryClient, String stack) {
+    private static Mono<Optional<String>> getOptionalStackId(CloudFoundryClient cloudFoundryClient, String stack, Map<String, Mono<String>> stackIds) {
         return Optional.ofNullable(stack)
-            .map(stack1 -> getStackId(cloudFoundryClient, stack1)
+            .map(stack1 -> stackIds.computeIfAbsent(stack1, name -> getStackId(cloudFoundryClient, name).cache())
                 .map(Optional::of))
             .orElse(Mono.just(Optional.empty()));
     }
@@ -969,6 +1163,14 @@ public final class DefaultApplications implements Applications {
             });
     }
 
+    private static String getRestartState(ApplicationInstanceInfo previous, ApplicationInstanceInfo current) {
+        if (current == null || Objects.equals(previous.getSince(), current.getSince())) {
+            return "STARTING"; // The instance has not been replaced yet
+        }
+
+        return current.getState();
+    }
+
     private static Mono<String> getRouteId(CloudFoundryClient cloudFoundryClient, String domainId, String host, String routePath) {
         return requestRoutes(cloudFoundryClient, domainId, host, null, routePath)
             .filter(resource -> isIdentical(host, ResourceUtils.getEntity(resource).getHost()))
@@ -1037,6 +1239,11 @@ public final class DefaultApplications implements Applications {
             .map(getStackResponse -> getStackResponse.getEntity().getName());
     }
 
+    private static Mono<Map<String, String>> getStackNames(CloudFoundryClient cloudFoundryClient) {
+        return requestStacks(cloudFoundryClient)
+            .collectMap(ResourceUtils::getId, resource -> ResourceUtils.getEntity(resource).getName());
+    }
+
     private static Mono<String> getTaskId(CloudFoundryClient cloudFoundryClient, String applicationId, Integer sequenceId) {
         return listTasks(cloudFoundryClient, applicationId, sequenceId)
             .single()
@@ -1050,6 +1257,18 @@ public final class DefaultApplications implements Applications {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<Set<String>> getWebProcessIds(CloudFoundryClient cloudFoundryClient, String spaceId) {
+        return requestWebProcesses(cloudFoundryClient, spaceId)
+            .map(ProcessResource::getId)
+            .collect(Collectors.toSet());
+    }
+
+    private static Map<String, ResourceMatchingUtils.ArtifactMetadata> indexByPath(List<ResourceMatchingUtils.ArtifactMetadata> matchedResources) {
+        Map<String, ResourceMatchingUtils.ArtifactMetadata> index = new LinkedHashMap<>(Math.max(16, (int) (matchedResources.size() / 0.75f) + 1));
+        matchedResources.forEach(artifactMetadata -> index.putIfAbsent(artifactMetadata.getPath(), artifactMetadata));
+        return index;
+    }
+
     private static boolean isIdentical(String s, String t) {
         return s == null ? t == null : s.equals(t);
     }
@@ -1058,6 +1277,15 @@ public final class DefaultApplications implements Applications {
         return state -> "RUNNING".equals(state) || "FAILED".equals(state);
     }
 
+    private static Predicate<String> isInstanceFailed() {
+        return state -> "CRASHED".equals(state) || "FAILED".equals(state) || "FLAPPING".equals(state);
+    }
+
+    private static Predicate<LogMessage> isLifecycleMessage() {
+        return message -> "API".equals(message.getSourceType()) || "CELL".equals(message.getSourceType())
+            || ("STG".equals(message.getSourceType()) && STAGING_LIFECYCLE_MESSAGES.stream().anyMatch(message.getMessage()::contains));
+    }
+
     private static Predicate<AbstractApplicationResource> isNotIn(String expectedState) {
         return resource -> isNotIn(resource, expectedState);
     }
@@ -1066,6 +1294,10 @@ public final class DefaultApplications implements Applications {
         return !expectedState.equals(ResourceUtils.getEntity(resource).getState());
     }
 
+    private static boolean isPackageUnavailable(Throwable t) {
+        return ExceptionUtils.statusCode(CF_APP_PACKAGE_NOT_FOUND).test(t) || (t instanceof AbstractCloudFoundryException && ((AbstractCloudFoundryException) t).getStatusCode() >= 500);
+    }
+
     private static boolean isRestartRequired(ScaleApplicationRequest request, AbstractApplicationResource applicationResource) {
         return (request.getDiskLimit() != null || request.getMemoryLimit() != null)
             && STARTED_STATE.equals(ResourceUtils.getEntity(applicationResource).getState());
@@ -1092,6 +1324,10 @@ public final class DefaultApplications implements Applications {
         return tcpDomainIds.contains(domainId);
     }
 
+    private static boolean isUnchanged(List<ResourceMatchingUtils.ArtifactMetadata> artifactMetadatas, List<ResourceMatchingUtils.ArtifactMetadata> deployed) {
+        return !deployed.isEmpty() && toManifestEntries(artifactMetadatas).equals(toManifestEntries(deployed));
+    }
+
     private static Mono<List<DomainSummary>> listAvailableDomains(CloudFoundryClient cloudFoundryClient, String organizationId) {
         return requestListPrivateDomains(cloudFoundryClient, organizationId)
             .map(DefaultApplications::toDomain)
@@ -1105,6 +1341,20 @@ public final class DefaultApplications implements Applications {
             .cast(org.cloudfoundry.client.v3.tasks.Task.class);
     }
 
+    private static Mono<String> prepareApplication(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
+                                                   PushApplicationManifestRequest request, Map<String, Mono<String>> serviceIds, String spaceId, Map<String, Mono<String>> stackIds) {
+        if (manifest.getPath() == null && manifest.getDocker().getImage().isEmpty()) {
+            throw new IllegalStateException("One of application or dockerImage must be supplied");
+        }
+
+        return getOptionalStackId(cloudFoundryClient, manifest.getStack(), stackIds)
+            .flatMap(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
+            .delayUntil(applicationId -> getApplicationRoutes(cloudFoundryClient, applicationId)
+                .flatMap(existingRoutes -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)))
+            .delayUntil(applicationId -> bindServices(cloudFoundryClient, applicationId, manifest, serviceIds, spaceId))
+            .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.PREPARING));
+    }
+
     private static Mono<Void> prepareDomainsAndRoutes(CloudFoundryClient cloudFoundryClient, String applicationId, List<DomainSummary> availableDomains, ApplicationManifest manifest,
                                                       List<RouteResource> existingRoutes, RandomWords randomWords, String spaceId) {
         if (Optional.ofNullable(manifest.getNoRoute()).orElse(false)) {
@@ -1138,40 +1388,35 @@ public final class DefaultApplications implements Applications {
             .then();
     }
 
-    private static Flux<Void> pushApplication(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                              PushApplicationManifestRequest request, String spaceId) {
-
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
-                Mono.just(applicationId),
-                getApplicationRoutes(cloudFoundryClient, applicationId),
-                ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, manifest.getPath())
-            ))
-            .flatMap(function((applicationId, existingRoutes, matchedResources) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes,
-                randomWords, spaceId)
-                .thenReturn(Tuples.of(applicationId, matchedResources))))
-            .flatMap(function((applicationId, matchedResources) -> Mono.when(
-                uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout()),
-                bindServices(cloudFoundryClient, applicationId, manifest, spaceId)
-            )
-                .thenReturn(applicationId)))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
-    }
-
-    private static Flux<Void> pushDocker(CloudFoundryClient cloudFoundryClient, List<DomainSummary> availableDomains, ApplicationManifest manifest, RandomWords randomWords,
-                                         PushApplicationManifestRequest request, String spaceId) {
-
-        return getOptionalStackId(cloudFoundryClient, manifest.getStack())
-            .flatMapMany(stackId -> getApplicationId(cloudFoundryClient, manifest, spaceId, stackId.orElse(null)))
-            .flatMap(applicationId -> Mono.zip(
-                Mono.just(applicationId),
-                getApplicationRoutes(cloudFoundryClient, applicationId)
-            ))
-            .flatMap(function((applicationId, existingRoutes) -> prepareDomainsAndRoutes(cloudFoundryClient, applicationId, availableDomains, manifest, existingRoutes, randomWords, spaceId)
-                .thenReturn(applicationId)))
-            .delayUntil(applicationId -> bindServices(cloudFoundryClient, applicationId, manifest, spaceId))
-            .flatMap(applicationId -> stopAndStartApplication(cloudFoundryClient, applicationId, manifest.getName(), request));
+    private static Flux<String> pushApplications(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection,
+                                                 RandomWords randomWords, PushApplicationManifestRequest request, String spaceId) {
+        return Flux
+            .using(() -> Optional.ofNullable(request.getFingerprintCache()).map(FingerprintCache::open),
+                fingerprintCache -> getSpaceOrganizationId(cloudFoundryClient, spaceId)
+                    .flatMap(organizationId -> listAvailableDomains(cloudFoundryClient, organizationId))
+                    .flatMapMany(availableDomains -> pushApplications(cloudFoundryClient, dopplerClient, completionDetection, randomWords, request, availableDomains,
+                        fingerprintCache.orElse(null), spaceId)),
+                fingerprintCache -> fingerprintCache.ifPresent(FingerprintCache::close));
+    }
+
+    private static Flux<String> pushApplications(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection,
+                                                 RandomWords randomWords, PushApplicationManifestRequest request, List<DomainSummary> availableDomains,
+                                                 FingerprintCache fingerprintCache, String spaceId) {
+        Map<String, Mono<String>> serviceIds = new ConcurrentHashMap<>();
+        Map<String, Mono<String>> stackIds = new ConcurrentHashMap<>();
+
+        return Flux.fromIterable(request.getManifests())
+            .flatMap(manifest -> prepareApplication(cloudFoundryClient, availableDomains, manifest, randomWords, request, serviceIds, spaceId, stackIds)
+                .map(applicationId -> Tuples.of(manifest, applicationId)))
+            .flatMap(function((manifest, applicationId) -> fingerprintApplication(cloudFoundryClient, manifest, request, fingerprintCache)
+                .map(matchedResources -> Tuples.of(manifest, applicationId, matchedResources))), request.getFingerprintConcurrency())
+            .flatMap(function((manifest, applicationId, matchedResources) -> uploadApplication(cloudFoundryClient, applicationId, manifest, matchedResources, request, fingerprintCache)
+                .thenReturn(Tuples.of(manifest, applicationId))), request.getUploadConcurrency())
+            .flatMap(function((manifest, applicationId) -> stageApplication(cloudFoundryClient, dopplerClient, completionDetection, applicationId, manifest, request)
+                .thenReturn(Tuples.of(manifest, applicationId))), request.getStagingConcurrency())
+            .flatMap(function((manifest, applicationId) -> waitForStartup(cloudFoundryClient, dopplerClient, completionDetection, applicationId, manifest, request)
+                .doOnSuccess(v -> reportProgress(request, manifest, PushPhase.COMPLETED))
+                .thenReturn(applicationId)), request.getStartupConcurrency());
     }
 
     private static Map<String, Object> removeFromEnvironment(Map<String, Object> environment, String variableName) {
@@ -1187,6 +1432,45 @@ public final class DefaultApplications implements Applications {
             .then();
     }
 
+    private static Mono<Void> replaceApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, RandomWords randomWords,
+                                                 PushBlueGreenApplicationRequest request, String spaceId) {
+        String name = request.getManifest().getName();
+        String temporaryName = name + request.getTemporaryNameSuffix();
+
+        return getApplicationId(cloudFoundryClient, name, spaceId)
+            .flatMap(applicationId -> Mono.zip(
+                Mono.just(applicationId),
+                pushApplications(cloudFoundryClient, dopplerClient, completionDetection, randomWords, PushApplicationManifestRequest.builder()
+                    .manifest(ApplicationManifest.builder()
+                        .from(request.getManifest())
+                        .name(temporaryName)
+                        .noRoute(true)
+                        .build())
+                    .stagingTimeout(request.getStagingTimeout())
+                    .startupTimeout(request.getStartupTimeout())
+                    .build(), spaceId)
+                    .single()
+                    .delayUntil(temporaryApplicationId -> waitForAllRunning(cloudFoundryClient, dopplerClient, completionDetection, temporaryName, temporaryApplicationId,
+                        request.getStartupTimeout()))
+                    .onErrorResume(t -> rollback(deleteApplicationIfExists(cloudFoundryClient, temporaryName, spaceId), t))
+            ))
+            .delayUntil(function((applicationId, temporaryApplicationId) -> swapRoutes(cloudFoundryClient, applicationId, temporaryApplicationId)
+                .onErrorResume(t -> rollback(deleteApplication(cloudFoundryClient, temporaryApplicationId), t))))
+            .delayUntil(function((applicationId, temporaryApplicationId) -> deleteApplication(cloudFoundryClient, applicationId)
+                .onErrorMap(t -> new IllegalStateException(String.format("Routes of application %s were moved to %s but the running version could not be deleted", name, temporaryName), t))))
+            .flatMap(function((applicationId, temporaryApplicationId) -> requestUpdateApplicationName(cloudFoundryClient, temporaryApplicationId, name)
+                .onErrorMap(t -> new IllegalStateException(String.format("Application %s was replaced by %s but could not be renamed", name, temporaryName), t))))
+            .then();
+    }
+
+    private static void reportProgress(PushApplicationManifestRequest request, ApplicationManifest manifest, PushPhase phase) {
+        Optional.ofNullable(request.getProgressListener())
+            .ifPresent(listener -> listener.accept(PushProgress.builder()
+                .applicationName(manifest.getName())
+                .phase(phase)
+                .build()));
+    }
+
     private static Mono<ApplicationEnvironmentResponse> requestApplicationEnvironment(CloudFoundryClient cloudFoundryClient, String applicationId) {
         return cloudFoundryClient.applicationsV2()
             .environment(ApplicationEnvironmentRequest.builder()
@@ -1355,6 +1639,13 @@ public final class DefaultApplications implements Applications {
                 .build());
     }
 
+    private static Mono<Void> requestDownloadApplication(CloudFoundryClient cloudFoundryClient, String applicationId, WritableByteChannel channel) {
+        return cloudFoundryClient.applicationsV2()
+            .download(DownloadApplicationRequest.builder()
+                .applicationId(applicationId)
+                .build(), channel);
+    }
+
     private static Flux<EventResource> requestEvents(String applicationId, CloudFoundryClient cloudFoundryClient) {
         return PaginationUtils
             .requestClientV2Resources(page -> cloudFoundryClient.events()
@@ -1465,6 +1756,13 @@ public final class DefaultApplications implements Applications {
                     .build()));
     }
 
+    private static Mono<GetProcessStatisticsResponse> requestProcessStatistics(CloudFoundryClient cloudFoundryClient, String processId) {
+        return cloudFoundryClient.processes()
+            .getStatistics(GetProcessStatisticsRequest.builder()
+                .processId(processId)
+                .build());
+    }
+
     private static Mono<Void> requestRemoveRouteFromApplication(CloudFoundryClient cloudFoundryClient, String applicationId, String routeId) {
         return cloudFoundryClient.applicationsV2()
             .removeRoute(RemoveApplicationRouteRequest.builder()
@@ -1531,6 +1829,14 @@ public final class DefaultApplications implements Applications {
                 .build());
     }
 
+    private static Flux<StackResource> requestStacks(CloudFoundryClient cloudFoundryClient) {
+        return PaginationUtils
+            .requestClientV2Resources(page -> cloudFoundryClient.stacks()
+                .list(ListStacksRequest.builder()
+                    .page(page)
+                    .build()));
+    }
+
     private static Flux<StackResource> requestStacks(CloudFoundryClient cloudFoundryClient, String stack) {
         return PaginationUtils
             .requestClientV2Resources(page -> cloudFoundryClient.stacks()
@@ -1620,9 +1926,9 @@ public final class DefaultApplications implements Applications {
         return requestUpdateApplication(cloudFoundryClient, applicationId, builder -> builder.state(state));
     }
 
-    private static Mono<UploadApplicationResponse> requestUploadApplication(CloudFoundryClient cloudFoundryClient, String applicationId, Path application, List<ResourceMatchingUtils
-        .ArtifactMetadata> matchedResources) {
-        UploadApplicationRequest request = matchedResources.stream()
+    private static Mono<UploadApplicationResponse> requestUploadApplication(CloudFoundryClient cloudFoundryClient, String applicationId, Path application,
+                                                                            Map<String, ResourceMatchingUtils.ArtifactMetadata> matchedResources) {
+        UploadApplicationRequest request = matchedResources.values().stream()
             .reduce(UploadApplicationRequest.builder()
                     .application(application)
                     .applicationId(applicationId)
@@ -1640,31 +1946,63 @@ public final class DefaultApplications implements Applications {
             .upload(request);
     }
 
-    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Flux<ProcessResource> requestWebProcesses(CloudFoundryClient cloudFoundryClient, String spaceId) {
+        return PaginationUtils
+            .requestClientV3Resources(page -> cloudFoundryClient.processes()
+                .list(ListProcessesRequest.builder()
+                    .page(page)
+                    .spaceId(spaceId)
+                    .type("web")
+                    .build()));
+    }
+
+    private static Mono<Void> restageApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                                 String applicationId, Duration stagingTimeout, Duration startupTimeout) {
         return requestRestageApplication(cloudFoundryClient, applicationId)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+            .flatMap(response -> waitForStaging(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, stagingTimeout))
+            .then(waitForRunning(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, startupTimeout));
     }
 
-    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+    private static Mono<Void> restartApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                                 String applicationId, Duration stagingTimeout, Duration startupTimeout) {
         return stopApplication(cloudFoundryClient, applicationId)
-            .then(startApplicationAndWait(cloudFoundryClient, application, applicationId, stagingTimeout, startupTimeout));
+            .then(startApplicationAndWait(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, stagingTimeout, startupTimeout));
     }
 
-    private static Predicate<AbstractApplicationResource> sshEnabled(Boolean enabled) {
-        return resource -> enabled.equals(ResourceUtils.getEntity(resource).getEnableSsh());
+    private static Mono<Void> restartInstances(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                               String applicationId, List<Map.Entry<String, ApplicationInstanceInfo>> instances, Duration startupTimeout) {
+        return Flux.fromIterable(instances)
+            .flatMap(instance -> requestTerminateApplicationInstance(cloudFoundryClient, applicationId, instance.getKey()))
+            .then(waitForRestart(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, instances, startupTimeout));
     }
 
-    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout, Duration startupTimeout) {
-        return requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE)
-            .flatMap(response -> waitForStaging(cloudFoundryClient, application, applicationId, stagingTimeout))
-            .then(waitForRunning(cloudFoundryClient, application, applicationId, startupTimeout));
+    private static <T> Mono<T> rollback(Mono<Void> compensation, Throwable t) {
+        return compensation
+            .onErrorResume(u -> {
+                t.addSuppressed(u);
+                return Mono.empty();
+            })
+            .then(Mono.error(t));
     }
 
-    private static Mono<Void> stopAndStartApplication(CloudFoundryClient cloudFoundryClient, String applicationId, String name, PushApplicationManifestRequest request) {
+    private static Predicate<AbstractApplicationResource> sshEnabled(Boolean enabled) {
+        return resource -> enabled.equals(ResourceUtils.getEntity(resource).getEnableSsh());
+    }
+
+    private static Mono<Void> stageApplication(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String applicationId,
+                                               ApplicationManifest manifest, PushApplicationManifestRequest request) {
         return stopApplication(cloudFoundryClient, applicationId)
             .filter(resource -> !Optional.ofNullable(request.getNoStart()).orElse(false))
-            .flatMap(resource -> startApplicationAndWait(cloudFoundryClient, name, applicationId, request.getStagingTimeout(), request.getStartupTimeout()));
+            .doOnNext(resource -> reportProgress(request, manifest, PushPhase.STAGING))
+            .flatMap(resource -> requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE))
+            .flatMap(resource -> waitForStaging(cloudFoundryClient, dopplerClient, completionDetection, manifest.getName(), applicationId, request.getStagingTimeout()));
+    }
+
+    private static Mono<Void> startApplicationAndWait(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                                      String applicationId, Duration stagingTimeout, Duration startupTimeout) {
+        return requestUpdateApplicationState(cloudFoundryClient, applicationId, STARTED_STATE)
+            .flatMap(response -> waitForStaging(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, stagingTimeout))
+            .then(waitForRunning(cloudFoundryClient, dopplerClient, completionDetection, application, applicationId, startupTimeout));
     }
 
     private static Mono<AbstractApplicationResource> stopApplication(CloudFoundryClient cloudFoundryClient, String applicationId) {
@@ -1675,6 +2013,37 @@ public final class DefaultApplications implements Applications {
         return isNotIn(resource, STOPPED_STATE) ? stopApplication(cloudFoundryClient, ResourceUtils.getId(resource)) : Mono.just(resource);
     }
 
+    private static Mono<Void> swapRoutes(CloudFoundryClient cloudFoundryClient, String fromApplicationId, String toApplicationId) {
+        return getApplicationRoutes(cloudFoundryClient, fromApplicationId)
+            .flatMap(routes -> Flux.fromIterable(routes) // Map every route to the new application before unmapping any so that each route always has an application serving it
+                .flatMap(route -> requestAssociateRoute(cloudFoundryClient, toApplicationId, ResourceUtils.getId(route)))
+                .thenMany(Flux.fromIterable(routes))
+                .flatMap(route -> requestRemoveRouteFromApplication(cloudFoundryClient, fromApplicationId, ResourceUtils.getId(route)))
+                .then()
+                .onErrorResume(t -> rollback(Flux.fromIterable(routes)
+                    .flatMap(route -> requestAssociateRoute(cloudFoundryClient, fromApplicationId, ResourceUtils.getId(route)))
+                    .thenMany(Flux.fromIterable(routes))
+                    .flatMap(route -> requestRemoveRouteFromApplication(cloudFoundryClient, toApplicationId, ResourceUtils.getId(route)))
+                    .then(), t)));
+    }
+
+    private static ApplicationDetail toApplicationDetail(SpaceApplicationSummary application, Map<String, String> stackNames, List<InstanceDetail> instanceDetails) {
+        return ApplicationDetail.builder()
+            .buildpack(getBuildpack(application))
+            .diskQuota(application.getDiskQuota())
+            .id(application.getId())
+            .instanceDetails(instanceDetails)
+            .instances(application.getInstances())
+            .lastUploaded(toDate(application.getPackageUpdatedAt()))
+            .memoryLimit(application.getMemory())
+            .name(application.getName())
+            .requestedState(application.getState())
+            .runningInstances(application.getRunningInstances())
+            .stack(stackNames.get(application.getStackId()))
+            .urls(Optional.ofNullable(application.getUrls()).orElse(Collections.emptyList()))
+            .build();
+    }
+
     private static ApplicationDetail toApplicationDetail(SummaryApplicationResponse summaryApplicationResponse, GetStackResponse getStackResponse, List<InstanceDetail> instanceDetails,
                                                          List<String> urls) {
         return ApplicationDetail.builder()
@@ -1791,6 +2160,21 @@ public final class DefaultApplications implements Applications {
         }
     }
 
+    private static InstanceDetail toInstanceDetail(ProcessStatistics statistics) {
+        Optional<ProcessUsage> usage = Optional.ofNullable(statistics.getUsage());
+
+        return InstanceDetail.builder()
+            .index(String.valueOf(statistics.getIndex()))
+            .state(Optional.ofNullable(statistics.getState()).map(ProcessState::name).orElse(null))
+            .since(Optional.ofNullable(statistics.getUptime()).map(uptime -> new Date(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(uptime))).orElse(null))
+            .cpu(usage.map(ProcessUsage::getCpu).orElse(null))
+            .memoryUsage(usage.map(ProcessUsage::getMemory).map(Integer::longValue).orElse(null))
+            .diskUsage(usage.map(ProcessUsage::getDisk).map(Integer::longValue).orElse(null))
+            .diskQuota(Optional.ofNullable(statistics.getDiskQuota()).map(Integer::longValue).orElse(null))
+            .memoryQuota(Optional.ofNullable(statistics.getMemoryQuota()).map(Integer::longValue).orElse(null))
+            .build();
+    }
+
     private static InstanceDetail toInstanceDetail(Map.Entry<String, ApplicationInstanceInfo> entry, ApplicationStatisticsResponse statisticsResponse) {
         InstanceStatistics instanceStatistics = Optional.ofNullable(statisticsResponse.getInstances().get(entry.getKey())).orElse(emptyInstanceStats());
         Statistics stats = Optional.ofNullable(instanceStatistics.getStatistics()).orElse(emptyApplicationStatistics());
@@ -1815,6 +2199,12 @@ public final class DefaultApplications implements Applications {
             .collectList();
     }
 
+    private static Set<String> toManifestEntries(List<ResourceMatchingUtils.ArtifactMetadata> artifactMetadatas) {
+        return artifactMetadatas.stream()
+            .map(artifactMetadata -> String.format("%s %s %s", artifactMetadata.getHash(), artifactMetadata.getPermissions(), artifactMetadata.getPath()))
+            .collect(Collectors.toSet());
+    }
+
     private static Task toTask(org.cloudfoundry.client.v3.tasks.Task task) {
         return Task.builder()
             .command(task.getCommand())
@@ -1850,18 +2240,29 @@ public final class DefaultApplications implements Applications {
             .collectList();
     }
 
-    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, String applicationId, Path application, List<ResourceMatchingUtils.ArtifactMetadata> matchedResources,
-                                                       Duration stagingTimeout) {
+    private static Mono<Void> uploadApplication(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest,
+                                                Map<String, ResourceMatchingUtils.ArtifactMetadata> matchedResources, PushApplicationManifestRequest request,
+                                                FingerprintCache fingerprintCache) {
+        if (manifest.getPath() == null) {
+            return Mono.empty();
+        }
+
+        if (request.getIncrementalCache() != null) {
+            return uploadApplicationIncremental(cloudFoundryClient, applicationId, manifest, request, fingerprintCache);
+        }
+
+        return uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout())
+            .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.UPLOADING));
+    }
+
+    private static Mono<Void> uploadApplicationAndWait(CloudFoundryClient cloudFoundryClient, String applicationId, Path application,
+                                                       Map<String, ResourceMatchingUtils.ArtifactMetadata> matchedResources, Duration stagingTimeout) {
         return Mono
             .defer(() -> {
-                if (matchedResources.isEmpty()) {
+                if (matchedResources.isEmpty() || Files.isDirectory(application)) {
                     return requestUploadApplication(cloudFoundryClient, applicationId, application, matchedResources);
                 } else {
-                    List<String> paths = matchedResources.stream()
-                        .map(ResourceMatchingUtils.ArtifactMetadata::getPath)
-                        .collect(Collectors.toList());
-
-                    return FileUtils.compress(application, p -> !paths.contains(p))
+                    return FileUtils.compress(application, p -> !matchedResources.containsKey(p))
                         .flatMap(filteredApplication -> requestUploadApplication(cloudFoundryClient, applicationId, filteredApplication, matchedResources)
                             .doOnTerminate(() -> {
                                 try {
@@ -1875,7 +2276,67 @@ public final class DefaultApplications implements Applications {
             .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, stagingTimeout, job));
     }
 
-    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration startupTimeout) {
+    private static Mono<Void> uploadApplicationIncremental(CloudFoundryClient cloudFoundryClient, String applicationId, ApplicationManifest manifest, PushApplicationManifestRequest request,
+                                                           FingerprintCache fingerprintCache) {
+        PackageManifestCache packageManifestCache = PackageManifestCache.open(request.getIncrementalCache());
+
+        return Mono
+            .zip(getArtifactMetadata(manifest.getPath(), fingerprintCache), getDeployedManifest(cloudFoundryClient, packageManifestCache, applicationId))
+            .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.FINGERPRINTING))
+            .flatMap(function((artifactMetadatas, deployed) -> {
+                if (isUnchanged(artifactMetadatas, deployed)) {
+                    return Mono.empty();
+                }
+
+                return ResourceMatchingUtils.getMatchedResources(cloudFoundryClient, artifactMetadatas, deployed)
+                    .map(DefaultApplications::indexByPath)
+                    .flatMap(matchedResources -> uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout()))
+                    .onErrorResume(ClientV2Exception.class, t -> getMatchedResources(cloudFoundryClient, manifest.getPath(), fingerprintCache)
+                        .flatMap(matchedResources -> uploadApplicationAndWait(cloudFoundryClient, applicationId, manifest.getPath(), matchedResources, request.getStagingTimeout())))
+                    .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.UPLOADING))
+                    .then(requestGetApplication(cloudFoundryClient, applicationId))
+                    .flatMap(resource -> Mono.justOrEmpty(ResourceUtils.getEntity(resource).getPackageUpdatedAt()))
+                    .doOnNext(packageVersion -> packageManifestCache.put(applicationId, packageVersion, artifactMetadatas))
+                    .then();
+            }));
+    }
+
+    private static Mono<Void> waitForAllRunning(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                                String applicationId, Duration startupTimeout) {
+        Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
+
+        return requestApplicationInstances(cloudFoundryClient, applicationId)
+            .map(response -> response.getInstances().values().stream()
+                .map(ApplicationInstanceInfo::getState)
+                .collect(Collectors.toList()))
+            .filter(states -> !states.isEmpty() && (states.stream().allMatch(isRunning()) || states.stream().anyMatch(isInstanceFailed())))
+            .repeatWhenEmpty(getCompletionDelay(dopplerClient, completionDetection, applicationId, timeout))
+            .filter(states -> states.stream().allMatch(isRunning()))
+            .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during start", application))
+            .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during start", application))
+            .then();
+    }
+
+    private static Mono<Void> waitForRestart(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                             String applicationId, List<Map.Entry<String, ApplicationInstanceInfo>> instances, Duration startupTimeout) {
+        Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
+
+        return getApplicationInstances(cloudFoundryClient, applicationId)
+            .map(response -> instances.stream()
+                // An index missing from a non-empty response has been scaled away, so there is nothing left to wait for
+                .filter(instance -> response.getInstances().isEmpty() || response.getInstances().containsKey(instance.getKey()))
+                .map(instance -> getRestartState(instance.getValue(), response.getInstances().get(instance.getKey())))
+                .collect(Collectors.toList()))
+            .filter(states -> states.stream().allMatch(isRunning()) || states.stream().anyMatch(isInstanceFailed()))
+            .repeatWhenEmpty(getCompletionDelay(dopplerClient, completionDetection, applicationId, timeout))
+            .filter(states -> states.stream().allMatch(isRunning()))
+            .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during restart", application))
+            .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during restart", application))
+            .then();
+    }
+
+    private static Mono<Void> waitForRunning(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                             String applicationId, Duration startupTimeout) {
         Duration timeout = Optional.ofNullable(startupTimeout).orElse(Duration.ofMinutes(5));
 
         return requestApplicationInstances(cloudFoundryClient, applicationId)
@@ -1883,24 +2344,35 @@ public final class DefaultApplications implements Applications {
             .map(ApplicationInstanceInfo::getState)
             .reduce("UNKNOWN", collectStates())
             .filter(isInstanceComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(getCompletionDelay(dopplerClient, completionDetection, applicationId, timeout))
             .filter(isRunning())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during start", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during start", application))
             .then();
     }
 
-    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, String application, String applicationId, Duration stagingTimeout) {
+    private static Mono<Void> waitForStaging(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String application,
+                                             String applicationId, Duration stagingTimeout) {
         Duration timeout = Optional.ofNullable(stagingTimeout).orElse(Duration.ofMinutes(15));
 
         return requestGetApplication(cloudFoundryClient, applicationId)
             .map(response -> ResourceUtils.getEntity(response).getPackageState())
             .filter(isStagingComplete())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout))
+            .repeatWhenEmpty(getCompletionDelay(dopplerClient, completionDetection, applicationId, timeout))
             .filter(isStaged())
             .switchIfEmpty(ExceptionUtils.illegalState("Application %s failed during staging", application))
             .onErrorResume(DelayTimeoutException.class, t -> ExceptionUtils.illegalState("Application %s timed out during staging", application))
             .then();
     }
 
+    private static Mono<Void> waitForStartup(CloudFoundryClient cloudFoundryClient, Mono<DopplerClient> dopplerClient, CompletionDetection completionDetection, String applicationId,
+                                             ApplicationManifest manifest, PushApplicationManifestRequest request) {
+        if (Optional.ofNullable(request.getNoStart()).orElse(false)) {
+            return Mono.empty();
+        }
+
+        return waitForRunning(cloudFoundryClient, dopplerClient, completionDetection, manifest.getName(), applicationId, request.getStartupTimeout())
+            .doOnSubscribe(s -> reportProgress(request, manifest, PushPhase.STARTING));
+    }
+
 }
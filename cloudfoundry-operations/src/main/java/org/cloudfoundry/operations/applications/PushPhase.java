@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+/**
+ * The phase an application has reached while being pushed
+ */
+public enum PushPhase {
+
+    /**
+     * The application has been pushed and, unless requested otherwise, started
+     */
+    COMPLETED,
+
+    /**
+     * The application files are being fingerprinted and matched against the resource cache
+     */
+    FINGERPRINTING,
+
+    /**
+     * The application, its routes and its service bindings are being created or updated
+     */
+    PREPARING,
+
+    /**
+     * The application is being staged
+     */
+    STAGING,
+
+    /**
+     * The application instances are being started
+     */
+    STARTING,
+
+    /**
+     * The application bits are being uploaded
+     */
+    UPLOADING
+
+}
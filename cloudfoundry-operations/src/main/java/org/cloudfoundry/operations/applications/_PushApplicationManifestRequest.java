@@ -19,8 +19,10 @@ package org.cloudfoundry.operations.applications;
 import org.cloudfoundry.Nullable;
 import org.immutables.value.Value;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The request options for the push application operation
@@ -37,6 +39,10 @@ abstract class _PushApplicationManifestRequest {
         if (getDockerUsername() != null && getDockerPassword() == null) {
             throw new IllegalStateException("Docker username requires password");
         }
+
+        if (getFingerprintConcurrency() < 1 || getStagingConcurrency() < 1 || getStartupConcurrency() < 1 || getUploadConcurrency() < 1) {
+            throw new IllegalStateException("Push concurrency must be at least 1");
+        }
     }
 
     /**
@@ -51,6 +57,27 @@ abstract class _PushApplicationManifestRequest {
     @Nullable
     abstract String getDockerUsername();
 
+    /**
+     * The index file of a fingerprint cache, used to avoid hashing application files that have not changed since a previous push
+     */
+    @Nullable
+    abstract Path getFingerprintCache();
+
+    /**
+     * The maximum number of applications whose files are fingerprinted at the same time
+     */
+    @Value.Default
+    Integer getFingerprintConcurrency() {
+        return 2;
+    }
+
+    /**
+     * The directory in which the file manifests of deployed packages are cached.  If set, only files that differ from the deployed package are uploaded, and an unchanged application is not
+     * uploaded at all.
+     */
+    @Nullable
+    abstract Path getIncrementalCache();
+
     /**
      * The manifests to be pushed
      */
@@ -62,6 +89,20 @@ abstract class _PushApplicationManifestRequest {
     @Nullable
     abstract Boolean getNoStart();
 
+    /**
+     * A listener notified as each application enters a new {@link PushPhase}
+     */
+    @Nullable
+    abstract Consumer<PushProgress> getProgressListener();
+
+    /**
+     * The maximum number of applications that are staged at the same time
+     */
+    @Value.Default
+    Integer getStagingConcurrency() {
+        return 8;
+    }
+
     /**
      * How long to wait for staging
      */
@@ -70,6 +111,14 @@ abstract class _PushApplicationManifestRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * The maximum number of applications whose instances are started at the same time
+     */
+    @Value.Default
+    Integer getStartupConcurrency() {
+        return 8;
+    }
+
     /**
      * How long to wait for startup
      */
@@ -78,4 +127,12 @@ abstract class _PushApplicationManifestRequest {
         return Duration.ofMinutes(5);
     }
 
+    /**
+     * The maximum number of applications whose bits are uploaded at the same time
+     */
+    @Value.Default
+    Integer getUploadConcurrency() {
+        return 4;
+    }
+
 }
@@ -105,6 +105,12 @@ abstract class _PushApplicationRequest {
     @Nullable
     abstract String getDomain();
 
+    /**
+     * The index file of a fingerprint cache, used to avoid hashing application files that have not changed since a previous push
+     */
+    @Nullable
+    abstract Path getFingerprintCache();
+
     /**
      * The health check type for the application
      */
@@ -117,6 +123,13 @@ abstract class _PushApplicationRequest {
     @Nullable
     abstract String getHost();
 
+    /**
+     * The directory in which the file manifests of deployed packages are cached.  If set, only files that differ from the deployed package are uploaded, and an unchanged application is not
+     * uploaded at all.
+     */
+    @Nullable
+    abstract Path getIncrementalCache();
+
     /**
      * The number of instances for the application
      */
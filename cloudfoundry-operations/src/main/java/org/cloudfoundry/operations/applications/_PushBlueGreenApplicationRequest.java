@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+/**
+ * The request options for the push blue green application operation
+ */
+@Value.Immutable
+abstract class _PushBlueGreenApplicationRequest {
+
+    @Value.Check
+    void check() {
+        ApplicationManifest manifest = getManifest();
+
+        if (manifest.getDomains() != null || manifest.getHosts() != null || manifest.getRoutes() != null || manifest.getRoutePath() != null
+            || Boolean.TRUE.equals(manifest.getNoHostname()) || Boolean.TRUE.equals(manifest.getRandomRoute())) {
+            throw new IllegalStateException("Manifest routes cannot be set, the routes of the running version are moved to the new version");
+        }
+    }
+
+    /**
+     * The manifest of the new version of the application.  The name must be that of the running version and no routes, hosts or domains may be set.
+     */
+    abstract ApplicationManifest getManifest();
+
+    /**
+     * How long to wait for staging
+     */
+    @Value.Default
+    Duration getStagingTimeout() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * How long to wait for startup
+     */
+    @Value.Default
+    Duration getStartupTimeout() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * The suffix appended to the application's name while the new version runs alongside the running version
+     */
+    @Value.Default
+    String getTemporaryNameSuffix() {
+        return "-green";
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+import org.immutables.value.Value;
+
+/**
+ * A progress event emitted while pushing an application
+ */
+@Value.Immutable
+abstract class _PushProgress {
+
+    /**
+     * The name of the application
+     */
+    abstract String getApplicationName();
+
+    /**
+     * The phase the application has entered
+     */
+    abstract PushPhase getPhase();
+
+}
@@ -38,7 +38,6 @@ import org.cloudfoundry.client.v2.serviceinstances.AbstractServiceInstanceResour
 import org.cloudfoundry.client.v2.serviceinstances.BaseServiceInstanceEntity;
 import org.cloudfoundry.client.v2.serviceinstances.CreateServiceInstanceResponse;
 import org.cloudfoundry.client.v2.serviceinstances.DeleteServiceInstanceResponse;
-import org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceResponse;
 import org.cloudfoundry.client.v2.serviceinstances.LastOperation;
 import org.cloudfoundry.client.v2.serviceinstances.ListServiceInstanceServiceKeysRequest;
 import org.cloudfoundry.client.v2.serviceinstances.UnionServiceInstanceEntity;
@@ -72,12 +71,14 @@ import org.cloudfoundry.client.v2.userprovidedserviceinstances.CreateUserProvide
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.DeleteUserProvidedServiceInstanceRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.RemoveUserProvidedServiceInstanceRouteRequest;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UpdateUserProvidedServiceInstanceResponse;
+import org.cloudfoundry.operations.util.IdentityCache;
 import org.cloudfoundry.operations.util.OperationsLogging;
 import org.cloudfoundry.util.ExceptionUtils;
 import org.cloudfoundry.util.JobUtils;
 import org.cloudfoundry.util.LastOperationUtils;
 import org.cloudfoundry.util.PaginationUtils;
 import org.cloudfoundry.util.ResourceUtils;
+import org.cloudfoundry.util.StatusPoller;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -103,18 +104,37 @@ public final class DefaultServices implements Services {
 
     private static final int CF_SERVICE_ALREADY_BOUND = 90003;
 
+    private static final int JOB_POLLING_CONCURRENCY = 4;
+
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final Mono<CloudFoundryClient> cloudFoundryClient;
 
+    private final IdentityCache identityCache;
+
+    private final Mono<StatusPoller<String, JobEntity>> jobPoller;
+
+    private final Mono<StatusPoller<String, LastOperation>> lastOperationPoller;
+
     private final Mono<String> organizationId;
 
     private final Mono<String> spaceId;
 
     public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, Mono<String> organizationId, Mono<String> spaceId) {
+        this(cloudFoundryClient, IdentityCache.disabled(), organizationId, spaceId);
+    }
+
+    public DefaultServices(Mono<CloudFoundryClient> cloudFoundryClient, IdentityCache identityCache, Mono<String> organizationId, Mono<String> spaceId) {
         this.cloudFoundryClient = cloudFoundryClient;
+        this.identityCache = identityCache;
         this.spaceId = spaceId;
         this.organizationId = organizationId;
+        this.jobPoller = cloudFoundryClient
+            .map(client -> JobUtils.poller(client, JOB_POLLING_CONCURRENCY))
+            .cache();
+        this.lastOperationPoller = Mono.zip(cloudFoundryClient, spaceId)
+            .map(function(LastOperationUtils::poller))
+            .cache();
     }
 
     @Override
@@ -123,8 +143,8 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getApplicationName(), spaceId),
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId, serviceInstanceId) -> createServiceBinding(cloudFoundryClient, applicationId, serviceInstanceId, request.getParameters())))
             .then()
@@ -144,7 +164,7 @@ public final class DefaultServices implements Services {
             .flatMap(function((cloudFoundryClient, domainId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getRouteId(cloudFoundryClient, request.getDomainName(), domainId, request.getHostname(), request.getPath()),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, routeId, userProvidedServiceInstanceId) -> createRouteBinding(cloudFoundryClient, routeId, userProvidedServiceInstanceId, request.getParameters())))
             .then()
@@ -167,7 +187,7 @@ public final class DefaultServices implements Services {
                 getServicePlanIdByName(cloudFoundryClient, serviceId, request.getPlanName())
             )))
             .flatMap(function((cloudFoundryClient, spaceId, planId) -> Mono.zip(
-                Mono.just(cloudFoundryClient),
+                this.lastOperationPoller,
                 Mono.just(request.getCompletionTimeout()),
                 createServiceInstance(cloudFoundryClient, spaceId, planId, request)
             )))
@@ -182,7 +202,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> requestCreateServiceKey(cloudFoundryClient, serviceInstanceId, request.getServiceKeyName(), request.getParameters())))
             .then()
@@ -207,10 +227,15 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
+                this.jobPoller,
+                this.lastOperationPoller,
                 Mono.just(request.getCompletionTimeout()),
                 getSpaceServiceInstance(cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function(DefaultServices::deleteServiceInstance))
+            .then(this.spaceId)
+            .doOnNext(spaceId -> this.identityCache.invalidate(IdentityCache.SERVICE_INSTANCE, spaceId, request.getName()))
+            .then()
             .transform(OperationsLogging.log("Delete Service Instance"))
             .checkpoint();
     }
@@ -221,7 +246,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
@@ -263,7 +288,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstanceId) -> getServiceKey(cloudFoundryClient, serviceInstanceId, request.getServiceKeyName())))
             .map(DefaultServices::toServiceKey)
@@ -290,7 +315,7 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMapMany(function((cloudFoundryClient, serviceInstanceId) -> requestListServiceInstanceServiceKeys(cloudFoundryClient, serviceInstanceId)))
             .map(DefaultServices::toServiceKey)
@@ -326,6 +351,11 @@ public final class DefaultServices implements Services {
                 getSpaceServiceInstance(cloudFoundryClient, request.getName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, serviceInstance) -> renameServiceInstance(cloudFoundryClient, serviceInstance, request.getNewName())))
+            .then(this.spaceId)
+            .doOnNext(spaceId -> {
+                this.identityCache.invalidate(IdentityCache.SERVICE_INSTANCE, spaceId, request.getName());
+                this.identityCache.invalidate(IdentityCache.SERVICE_INSTANCE, spaceId, request.getNewName());
+            })
             .then()
             .transform(OperationsLogging.log("Rename Service Instance"))
             .checkpoint();
@@ -337,11 +367,12 @@ public final class DefaultServices implements Services {
             .zip(this.cloudFoundryClient, this.spaceId)
             .flatMap(function((cloudFoundryClient, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
-                getApplicationId(cloudFoundryClient, request.getApplicationName(), spaceId),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getApplicationId(this.identityCache, cloudFoundryClient, request.getApplicationName(), spaceId),
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function((cloudFoundryClient, applicationId, serviceInstanceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
+                this.jobPoller,
                 Mono.just(request.getCompletionTimeout()),
                 getServiceBindingId(cloudFoundryClient, applicationId, serviceInstanceId, request.getServiceInstanceName())
             )))
@@ -363,7 +394,7 @@ public final class DefaultServices implements Services {
             .flatMap(function((cloudFoundryClient, domainId, spaceId) -> Mono.zip(
                 Mono.just(cloudFoundryClient),
                 getRouteId(cloudFoundryClient, request.getDomainName(), domainId, request.getHostname(), request.getPath()),
-                getSpaceServiceInstanceId(cloudFoundryClient, request.getServiceInstanceName(), spaceId)
+                getSpaceServiceInstanceId(this.identityCache, cloudFoundryClient, request.getServiceInstanceName(), spaceId)
             )))
             .flatMap(function(DefaultServices::requestRemoveRoute))
             .then()
@@ -434,12 +465,13 @@ public final class DefaultServices implements Services {
             .cast(AbstractServiceInstanceResource.class);
     }
 
-    private static Mono<Void> deleteServiceBinding(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, String serviceBindingId) {
+    private static Mono<Void> deleteServiceBinding(CloudFoundryClient cloudFoundryClient, StatusPoller<String, JobEntity> jobPoller, Duration completionTimeout, String serviceBindingId) {
         return requestDeleteServiceBinding(cloudFoundryClient, serviceBindingId)
-            .flatMap(job -> JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, job));
+            .flatMap(job -> JobUtils.waitForCompletion(jobPoller, completionTimeout, job));
     }
 
-    private static Mono<Void> deleteServiceInstance(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, UnionServiceInstanceResource serviceInstance) {
+    private static Mono<Void> deleteServiceInstance(CloudFoundryClient cloudFoundryClient, StatusPoller<String, JobEntity> jobPoller, StatusPoller<String, LastOperation> lastOperationPoller,
+                                                    Duration completionTimeout, UnionServiceInstanceResource serviceInstance) {
         if (isUserProvidedService(serviceInstance)) {
             return requestDeleteUserProvidedServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance));
         } else {
@@ -447,10 +479,9 @@ public final class DefaultServices implements Services {
                 .flatMap(response -> {
                     Object entity = response.getEntity();
                     if (entity instanceof JobEntity) {
-                        return JobUtils.waitForCompletion(cloudFoundryClient, completionTimeout, (JobEntity) response.getEntity());
+                        return JobUtils.waitForCompletion(jobPoller, completionTimeout, (JobEntity) response.getEntity());
                     } else {
-                        return LastOperationUtils.waitForCompletion(completionTimeout, () -> requestGetServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance))
-                                .map(r -> ResourceUtils.getEntity(r).getLastOperation()));
+                        return LastOperationUtils.waitForCompletion(lastOperationPoller, completionTimeout, ResourceUtils.getId(serviceInstance));
                     }
                 });
         }
@@ -467,6 +498,10 @@ public final class DefaultServices implements Services {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<String> getApplicationId(IdentityCache identityCache, CloudFoundryClient cloudFoundryClient, String applicationName, String spaceId) {
+        return identityCache.get(IdentityCache.APPLICATION, spaceId, applicationName, () -> getApplicationId(cloudFoundryClient, applicationName, spaceId));
+    }
+
     private static Mono<List<String>> getBoundApplications(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
         return requestListServiceBindings(cloudFoundryClient, serviceInstanceId)
             .map(resource -> ResourceUtils.getEntity(resource).getApplicationId())
@@ -616,6 +651,10 @@ public final class DefaultServices implements Services {
             .map(ResourceUtils::getId);
     }
 
+    private static Mono<String> getSpaceServiceInstanceId(IdentityCache identityCache, CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId) {
+        return identityCache.get(IdentityCache.SERVICE_INSTANCE, spaceId, serviceInstanceName, () -> getSpaceServiceInstanceId(cloudFoundryClient, serviceInstanceName, spaceId));
+    }
+
     private static Mono<UnionServiceInstanceResource> getSpaceUserProvidedServiceInstance(CloudFoundryClient cloudFoundryClient, String serviceInstanceName, String spaceId) {
         return requestListServiceInstances(cloudFoundryClient, spaceId, serviceInstanceName)
             .filter(DefaultServices::isUserProvidedService)
@@ -751,13 +790,6 @@ public final class DefaultServices implements Services {
                 .build());
     }
 
-    private static Mono<GetServiceInstanceResponse> requestGetServiceInstance(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
-        return cloudFoundryClient.serviceInstances()
-            .get(org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceRequest.builder()
-                .serviceInstanceId(serviceInstanceId)
-                .build());
-    }
-
     private static Mono<GetServicePlanResponse> requestGetServicePlan(CloudFoundryClient cloudFoundryClient, String servicePlanId) {
         return cloudFoundryClient.servicePlans()
             .get(GetServicePlanRequest.builder()
@@ -1040,10 +1072,8 @@ public final class DefaultServices implements Services {
                 .build());
     }
 
-    private static Mono<Void> waitForCreateInstance(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, AbstractServiceInstanceResource serviceInstance) {
-        return LastOperationUtils
-            .waitForCompletion(completionTimeout, () -> requestGetServiceInstance(cloudFoundryClient, ResourceUtils.getId(serviceInstance))
-                .map(response -> ResourceUtils.getEntity(response).getLastOperation()));
+    private static Mono<Void> waitForCreateInstance(StatusPoller<String, LastOperation> lastOperationPoller, Duration completionTimeout, AbstractServiceInstanceResource serviceInstance) {
+        return LastOperationUtils.waitForCompletion(lastOperationPoller, completionTimeout, ResourceUtils.getId(serviceInstance));
     }
 
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.util;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, time-limited cache of name to id resolutions.  Entries are keyed by the kind of resource, the id of the scope (e.g. space) the name is unique within, and the name itself.  Only
+ * successful resolutions are cached and entries should be invalidated whenever an operation renames or deletes the resource they refer to.
+ */
+public final class IdentityCache {
+
+    /**
+     * The kind of application entries, scoped by space id
+     */
+    public static final String APPLICATION = "application";
+
+    /**
+     * The default maximum number of entries retained
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    /**
+     * The kind of service instance entries, scoped by space id
+     */
+    public static final String SERVICE_INSTANCE = "service-instance";
+
+    private static final IdentityCache DISABLED = new IdentityCache(Duration.ZERO, 0, System::nanoTime);
+
+    private final LongSupplier clock;
+
+    private final Map<Key, Entry> entries;
+
+    private final long ttl;
+
+    private long generation;
+
+    /**
+     * Creates a new instance
+     *
+     * @param ttl         the duration a resolution is retained for
+     * @param maximumSize the maximum number of entries retained, the least recently used entry is evicted when exceeded
+     */
+    public IdentityCache(Duration ttl, int maximumSize) {
+        this(ttl, maximumSize, System::nanoTime);
+    }
+
+    IdentityCache(Duration ttl, int maximumSize, LongSupplier clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maximumSize;
+            }
+
+        };
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * Returns a cache that never retains a resolution
+     *
+     * @return a disabled cache
+     */
+    public static IdentityCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns the cached id for a name, resolving and caching it if it is not present or has expired
+     *
+     * @param kind     the kind of resource
+     * @param scopeId  the id of the scope the name is unique within
+     * @param name     the name of the resource
+     * @param resolver the resolver to use if no valid entry is present
+     * @return the id of the resource
+     */
+    public Mono<String> get(String kind, String scopeId, String name, Supplier<Mono<String>> resolver) {
+        if (this.ttl <= 0) {
+            return resolver.get();
+        }
+
+        Key key = new Key(kind, scopeId, name);
+
+        return Mono.defer(() -> {
+            long generation = generation();
+            String id = lookup(key);
+
+            if (id != null) {
+                return Mono.just(id);
+            }
+
+            return resolver.get()
+                .doOnNext(resolved -> store(key, resolved, generation));
+        });
+    }
+
+    /**
+     * Removes the cached id for a name
+     *
+     * @param kind    the kind of resource
+     * @param scopeId the id of the scope the name is unique within
+     * @param name    the name of the resource
+     */
+    public void invalidate(String kind, String scopeId, String name) {
+        synchronized (this.entries) {
+            this.entries.remove(new Key(kind, scopeId, name));
+            this.generation++;
+        }
+    }
+
+    /**
+     * Removes all cached ids
+     */
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.generation++;
+        }
+    }
+
+    int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private long generation() {
+        synchronized (this.entries) {
+            return this.generation;
+        }
+    }
+
+    private String lookup(Key key) {
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (this.clock.getAsLong() - entry.created >= this.ttl) {
+                this.entries.remove(key);
+                return null;
+            }
+
+            return entry.id;
+        }
+    }
+
+    private void store(Key key, String id, long generation) {
+        synchronized (this.entries) {
+            if (this.generation != generation) {  // An invalidation during the resolution may have made the resolved id stale
+                return;
+            }
+
+            this.entries.put(key, new Entry(id, this.clock.getAsLong()));
+        }
+    }
+
+    private static final class Entry {
+
+        private final long created;
+
+        private final String id;
+
+        private Entry(String id, long created) {
+            this.created = created;
+            this.id = id;
+        }
+
+    }
+
+    private static final class Key {
+
+        private final String kind;
+
+        private final String name;
+
+        private final String scopeId;
+
+        private Key(String kind, String scopeId, String name) {
+            this.kind = kind;
+            this.name = name;
+            this.scopeId = scopeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return this.kind.equals(other.kind) && this.name.equals(other.name) && this.scopeId.equals(other.scopeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.kind, this.name, this.scopeId);
+        }
+
+    }
+
+}
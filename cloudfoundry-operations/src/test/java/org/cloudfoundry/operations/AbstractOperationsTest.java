@@ -42,6 +42,7 @@ import org.cloudfoundry.client.v2.stacks.Stacks;
 import org.cloudfoundry.client.v2.userprovidedserviceinstances.UserProvidedServiceInstances;
 import org.cloudfoundry.client.v2.users.Users;
 import org.cloudfoundry.client.v3.applications.ApplicationsV3;
+import org.cloudfoundry.client.v3.processes.Processes;
 import org.cloudfoundry.client.v3.tasks.Tasks;
 import org.cloudfoundry.doppler.DopplerClient;
 import org.cloudfoundry.routing.RoutingClient;
@@ -102,6 +103,8 @@ public abstract class AbstractOperationsTest {
 
     protected final PrivateDomains privateDomains = mock(PrivateDomains.class, RETURNS_SMART_NULLS);
 
+    protected final Processes processes = mock(Processes.class, RETURNS_SMART_NULLS);
+
     protected final ResourceMatch resourceMatch = mock(ResourceMatch.class, RETURNS_SMART_NULLS);
 
     protected final RouterGroups routerGroups = mock(RouterGroups.class, RETURNS_SMART_NULLS);
@@ -156,6 +159,7 @@ public abstract class AbstractOperationsTest {
         when(this.cloudFoundryClient.organizations()).thenReturn(this.organizations);
         when(this.cloudFoundryClient.organizationQuotaDefinitions()).thenReturn(this.organizationQuotaDefinitions);
         when(this.cloudFoundryClient.privateDomains()).thenReturn(this.privateDomains);
+        when(this.cloudFoundryClient.processes()).thenReturn(this.processes);
         when(this.cloudFoundryClient.resourceMatch()).thenReturn(this.resourceMatch);
         when(this.cloudFoundryClient.routes()).thenReturn(this.routes);
         when(this.cloudFoundryClient.serviceBindingsV2()).thenReturn(this.serviceBindingsV2);
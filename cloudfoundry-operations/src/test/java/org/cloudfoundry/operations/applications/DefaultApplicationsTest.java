@@ -34,6 +34,7 @@ import org.cloudfoundry.client.v2.applications.CopyApplicationRequest;
 import org.cloudfoundry.client.v2.applications.CopyApplicationResponse;
 import org.cloudfoundry.client.v2.applications.CreateApplicationRequest;
 import org.cloudfoundry.client.v2.applications.CreateApplicationResponse;
+import org.cloudfoundry.client.v2.applications.DownloadApplicationRequest;
 import org.cloudfoundry.client.v2.applications.GetApplicationResponse;
 import org.cloudfoundry.client.v2.applications.InstanceStatistics;
 import org.cloudfoundry.client.v2.applications.ListApplicationRoutesRequest;
@@ -102,12 +103,19 @@ import org.cloudfoundry.client.v2.stacks.GetStackResponse;
 import org.cloudfoundry.client.v2.stacks.ListStacksRequest;
 import org.cloudfoundry.client.v2.stacks.ListStacksResponse;
 import org.cloudfoundry.client.v2.stacks.StackEntity;
+import org.cloudfoundry.client.v2.stacks.StackResource;
 import org.cloudfoundry.client.v3.BuildpackData;
 import org.cloudfoundry.client.v3.Lifecycle;
 import org.cloudfoundry.client.v3.LifecycleType;
 import org.cloudfoundry.client.v3.applications.ApplicationState;
 import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
 import org.cloudfoundry.client.v3.applications.ListApplicationsResponse;
+import org.cloudfoundry.client.v3.processes.GetProcessStatisticsRequest;
+import org.cloudfoundry.client.v3.processes.GetProcessStatisticsResponse;
+import org.cloudfoundry.client.v3.processes.ListProcessesRequest;
+import org.cloudfoundry.client.v3.processes.ListProcessesResponse;
+import org.cloudfoundry.client.v3.processes.ProcessResource;
+import org.cloudfoundry.client.v3.processes.ProcessStatisticsResource;
 import org.cloudfoundry.client.v3.tasks.CancelTaskRequest;
 import org.cloudfoundry.client.v3.tasks.CancelTaskResponse;
 import org.cloudfoundry.client.v3.tasks.CreateTaskRequest;
@@ -120,17 +128,25 @@ import org.cloudfoundry.doppler.LogMessage;
 import org.cloudfoundry.doppler.RecentLogsRequest;
 import org.cloudfoundry.doppler.StreamRequest;
 import org.cloudfoundry.operations.AbstractOperationsTest;
+import org.cloudfoundry.operations.util.IdentityCache;
 import org.cloudfoundry.util.DateUtils;
 import org.cloudfoundry.util.FluentMap;
+import org.cloudfoundry.util.PackageManifestCache;
 import org.cloudfoundry.util.ResourceMatchingUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.core.io.ClassPathResource;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Arrays;
@@ -138,19 +154,34 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.cloudfoundry.operations.TestObjects.fill;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class DefaultApplicationsTest extends AbstractOperationsTest {
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private RandomWords randomWords = mock(RandomWords.class, RETURNS_SMART_NULLS);
 
     private final DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), this.randomWords, Mono.just(TEST_SPACE_ID));
@@ -439,6 +470,47 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void getAll() {
+        requestSpaceSummaryState(this.cloudFoundryClient, TEST_SPACE_ID, "test-stack-id", "STARTED");
+        requestStacks(this.cloudFoundryClient, "test-stack-id", "test-stack-name");
+        requestWebProcesses(this.cloudFoundryClient, TEST_SPACE_ID, "test-application-summary-id");
+        requestProcessStatistics(this.cloudFoundryClient, "test-application-summary-id");
+
+        this.applications
+            .getAll()
+            .as(StepVerifier::create)
+            .consumeNextWith(applicationDetail -> {
+                assertThat(applicationDetail.getId()).isEqualTo("test-application-summary-id");
+                assertThat(applicationDetail.getLastUploaded()).isEqualTo(new Date(0));
+                assertThat(applicationDetail.getRequestedState()).isEqualTo("STARTED");
+                assertThat(applicationDetail.getStack()).isEqualTo("test-stack-name");
+                assertThat(applicationDetail.getInstanceDetails()).hasSize(1);
+
+                InstanceDetail instanceDetail = applicationDetail.getInstanceDetails().get(0);
+                assertThat(instanceDetail.getIndex()).isEqualTo("1");
+                assertThat(instanceDetail.getMemoryQuota()).isEqualTo(1L);
+                assertThat(instanceDetail.getSince()).isNotNull();
+                assertThat(instanceDetail.getState()).isEqualTo("CRASHED");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getAllStopped() {
+        requestSpaceSummaryState(this.cloudFoundryClient, TEST_SPACE_ID, "test-stack-id", "STOPPED");
+        requestStacks(this.cloudFoundryClient, "test-stack-id", "test-stack-name");
+        requestWebProcesses(this.cloudFoundryClient, TEST_SPACE_ID, "test-application-summary-id");
+
+        this.applications
+            .getAll()
+            .as(StepVerifier::create)
+            .consumeNextWith(applicationDetail -> assertThat(applicationDetail.getInstanceDetails()).isEmpty())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void getApplicationManifest() {
         requestApplications(this.cloudFoundryClient, "test-app", TEST_SPACE_ID, "test-metadata-id");
@@ -1174,6 +1246,160 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushBlueGreen() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplications(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name-green", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .noRoute(true)
+            .name("test-name-green")
+            .build(), TEST_SPACE_ID, null, "test-green-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-green-application-id");
+        requestUpload(this.cloudFoundryClient, "test-green-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationRoutes(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-green-application-id", "test-route-id");
+        requestRemoveApplicationRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestApplicationServiceBindingsEmpty(this.cloudFoundryClient, "test-application-id");
+        requestDeleteApplication(this.cloudFoundryClient, "test-application-id");
+        requestUpdateApplicationRename(this.cloudFoundryClient, "test-green-application-id", "test-name");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushBlueGreen(PushBlueGreenApplicationRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .name("test-name")
+                    .build())
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void pushBlueGreenNoApplication() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+
+        this.applications
+            .pushBlueGreen(PushBlueGreenApplicationRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .name("test-name")
+                    .build())
+                .build())
+            .as(StepVerifier::create)
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalArgumentException.class).hasMessage("Application test-name does not exist"))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void pushBlueGreenSwapRoutesFailure() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+
+        requestApplications(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name-green", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .noRoute(true)
+            .name("test-name-green")
+            .build(), TEST_SPACE_ID, null, "test-green-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-green-application-id");
+        requestUpload(this.cloudFoundryClient, "test-green-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationRoutes(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestAssociateRouteError(this.cloudFoundryClient, "test-green-application-id", "test-route-id", 500);
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestRemoveApplicationRoute(this.cloudFoundryClient, "test-green-application-id", "test-route-id");
+        requestApplicationServiceBindingsEmpty(this.cloudFoundryClient, "test-green-application-id");
+        requestDeleteApplication(this.cloudFoundryClient, "test-green-application-id");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushBlueGreen(PushBlueGreenApplicationRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .name("test-name")
+                    .build())
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(ClientV2Exception.class).hasNoSuppressedExceptions())
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void pushBlueGreenSwapRoutesFailureInvalidatesCache() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        IdentityCache identityCache = new IdentityCache(Duration.ofMinutes(1), IdentityCache.DEFAULT_MAXIMUM_SIZE);
+
+        identityCache.get(IdentityCache.APPLICATION, TEST_SPACE_ID, "test-name", () -> Mono.just("test-stale-application-id")).block();
+        identityCache.get(IdentityCache.APPLICATION, TEST_SPACE_ID, "test-name-green", () -> Mono.just("test-stale-green-application-id")).block();
+
+        requestApplications(this.cloudFoundryClient, "test-name", TEST_SPACE_ID, "test-application-id");
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name-green", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .noRoute(true)
+            .name("test-name-green")
+            .build(), TEST_SPACE_ID, null, "test-green-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestListMatchingResources(this.cloudFoundryClient, Arrays.asList(new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-green-application-id");
+        requestUpload(this.cloudFoundryClient, "test-green-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-green-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-green-application-id");
+        requestApplicationRoutes(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestAssociateRouteError(this.cloudFoundryClient, "test-green-application-id", "test-route-id", 500);
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestRemoveApplicationRoute(this.cloudFoundryClient, "test-green-application-id", "test-route-id");
+        requestApplicationServiceBindingsEmpty(this.cloudFoundryClient, "test-green-application-id");
+        requestDeleteApplication(this.cloudFoundryClient, "test-green-application-id");
+
+        DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), CompletionDetection.POLLING, identityCache,
+            this.randomWords, Mono.just(TEST_SPACE_ID));
+
+        StepVerifier.withVirtualTime(() -> applications
+            .pushBlueGreen(PushBlueGreenApplicationRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .path(testApplication)
+                    .name("test-name")
+                    .build())
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(ClientV2Exception.class).hasNoSuppressedExceptions())
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(identityCache.get(IdentityCache.APPLICATION, TEST_SPACE_ID, "test-name", () -> Mono.just("test-application-id")).block()).isEqualTo("test-application-id");
+        assertThat(identityCache.get(IdentityCache.APPLICATION, TEST_SPACE_ID, "test-name-green", () -> Mono.just("test-green-application-id")).block()).isEqualTo("test-green-application-id");
+    }
+
     @Test
     public void pushDocker() {
         requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
@@ -1451,6 +1677,107 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushManifestProgress() {
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateDockerApplication(this.cloudFoundryClient, PushApplicationRequest.builder()
+            .dockerImage("cloudfoundry/lattice-app")
+            .domain("test-shared-domain")
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestPrivateDomainNotFound(this.cloudFoundryClient, "test-shared-domain", TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomain(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestGetSharedDomain(this.cloudFoundryClient, "test-shared-domain-id");
+        requestApplicationRoutes(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+
+        Queue<PushPhase> phases = new ConcurrentLinkedQueue<>();
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .pushManifest(PushApplicationManifestRequest.builder()
+                .manifest(ApplicationManifest.builder()
+                    .docker(Docker.builder()
+                        .image("cloudfoundry/lattice-app")
+                        .build())
+                    .domain("test-shared-domain")
+                    .name("test-name")
+                    .build())
+                .progressListener(progress -> phases.add(progress.getPhase()))
+                .stagingConcurrency(1)
+                .startupConcurrency(1)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(phases).containsExactly(PushPhase.PREPARING, PushPhase.STAGING, PushPhase.STARTING, PushPhase.COMPLETED);
+    }
+
+    @Test
+    public void pushMatchedResources() throws IOException {
+        Path testApplication = this.folder.newFile("test-application.zip").toPath();
+
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(testApplication))) {
+            out.putNextEntry(new ZipEntry("large.bin"));
+            out.write(new byte[64 * 1024]);
+            out.putNextEntry(new ZipEntry("small.txt"));
+            out.write("test-content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResourceMatchingUtils.ArtifactMetadata matched = ResourceMatchingUtils.getArtifactMetadata(testApplication)
+            .filter(artifactMetadata -> "large.bin".equals(artifactMetadata.getPath()))
+            .single()
+            .block();
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestListMatchingResourcesMatched(this.cloudFoundryClient, matched);
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestUploadMatched(this.cloudFoundryClient, "test-application-id", "test-job-id", request -> {
+            assertThat(request.getResources())
+                .extracting(resource -> resource.getPath())
+                .containsExactly("large.bin");
+
+            try (ZipFile zipFile = new ZipFile(request.getApplication().toFile())) {
+                assertThat(Collections.list(zipFile.entries()))
+                    .extracting(ZipEntry::getName)
+                    .containsExactly("small.txt");
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .push(PushApplicationRequest.builder()
+                .path(testApplication)
+                .name("test-name")
+                .noStart(true)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void pushMultipleRoutes() throws IOException {
         Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
@@ -1883,6 +2210,198 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void pushNoStartIncrementalDelta() throws IOException {
+        Path testApplication = this.folder.newFile("test-application.zip").toPath();
+        Path incrementalCache = this.folder.newFolder().toPath();
+
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(testApplication))) {
+            out.putNextEntry(new ZipEntry("large.bin"));
+            out.write(new byte[64 * 1024]);
+            out.putNextEntry(new ZipEntry("small.txt"));
+            out.write("test-content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResourceMatchingUtils.ArtifactMetadata large = ResourceMatchingUtils.getArtifactMetadata(testApplication)
+            .filter(artifactMetadata -> "large.bin".equals(artifactMetadata.getPath()))
+            .single()
+            .block();
+
+        PackageManifestCache.open(incrementalCache).put("test-application-id", "test-package-version", Arrays.asList(
+            large,
+            new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "small.txt", "100644", 0)));
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestGetApplicationPackage(this.cloudFoundryClient, "test-application-id", "test-package-version");
+        requestUploadMatched(this.cloudFoundryClient, "test-application-id", "test-job-id", request -> {
+            assertThat(request.getResources())
+                .extracting(resource -> resource.getPath())
+                .containsExactly("large.bin");
+
+            try (ZipFile zipFile = new ZipFile(request.getApplication().toFile())) {
+                assertThat(Collections.list(zipFile.entries()))
+                    .extracting(ZipEntry::getName)
+                    .containsExactly("small.txt");
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .push(PushApplicationRequest.builder()
+                .incrementalCache(incrementalCache)
+                .path(testApplication)
+                .name("test-name")
+                .noStart(true)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.resourceMatch(), never()).list(any());
+        assertThat(PackageManifestCache.open(incrementalCache).get("test-application-id", "test-package-version"))
+            .hasValueSatisfying(manifest -> assertThat(manifest)
+                .extracting(ResourceMatchingUtils.ArtifactMetadata::getPath)
+                .containsExactlyInAnyOrder("large.bin", "small.txt"));
+    }
+
+    @Test
+    public void pushNoStartIncrementalFallback() throws IOException {
+        Path testApplication = this.folder.newFile("test-application.zip").toPath();
+        Path incrementalCache = this.folder.newFolder().toPath();
+
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(testApplication))) {
+            out.putNextEntry(new ZipEntry("large.bin"));
+            out.write(new byte[64 * 1024]);
+            out.putNextEntry(new ZipEntry("small.txt"));
+            out.write("test-content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResourceMatchingUtils.ArtifactMetadata large = ResourceMatchingUtils.getArtifactMetadata(testApplication)
+            .filter(artifactMetadata -> "large.bin".equals(artifactMetadata.getPath()))
+            .single()
+            .block();
+
+        PackageManifestCache.open(incrementalCache).put("test-application-id", "test-package-version", Arrays.asList(
+            large,
+            new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "small.txt", "100644", 0)));
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestGetApplicationPackage(this.cloudFoundryClient, "test-application-id", "test-package-version");
+        requestUploadRejectedWithResources(this.cloudFoundryClient, "test-application-id", "test-job-id");
+        requestListMatchingResources(this.cloudFoundryClient, Collections.singletonList(large));
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .push(PushApplicationRequest.builder()
+                .incrementalCache(incrementalCache)
+                .path(testApplication)
+                .name("test-name")
+                .noStart(true)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.applicationsV2(), times(2)).upload(any());
+    }
+
+    @Test
+    public void pushNoStartIncrementalPackageNotFound() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        Path incrementalCache = this.folder.newFolder().toPath();
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestGetApplicationPackage(this.cloudFoundryClient, "test-application-id", "test-package-version");
+        requestDownloadApplicationNotFound(this.cloudFoundryClient, "test-application-id");
+        requestUpload(this.cloudFoundryClient, "test-application-id", testApplication, "test-job-id");
+        requestJobSuccess(this.cloudFoundryClient, "test-job-entity-id");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .push(PushApplicationRequest.builder()
+                .incrementalCache(incrementalCache)
+                .path(testApplication)
+                .name("test-name")
+                .noStart(true)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void pushNoStartIncrementalUnchanged() throws IOException {
+        Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
+        Path incrementalCache = this.folder.newFolder().toPath();
+
+        PackageManifestCache.open(incrementalCache).put("test-application-id", "test-package-version", Arrays.asList(
+            new ResourceMatchingUtils.ArtifactMetadata("da39a3ee5e6b4b0d3255bfef95601890afd80709", "Staticfile", "100644", 0),
+            new ResourceMatchingUtils.ArtifactMetadata("45044a6ddbfe11415a8f8a6219de68a2c66b496b", "index.html", "100644", 178)));
+
+        requestApplicationsEmpty(this.cloudFoundryClient, "test-name", TEST_SPACE_ID);
+        requestCreateApplication(this.cloudFoundryClient, ApplicationManifest.builder()
+            .path(testApplication)
+            .name("test-name")
+            .build(), TEST_SPACE_ID, null, "test-application-id");
+        requestSpace(this.cloudFoundryClient, TEST_SPACE_ID, TEST_ORGANIZATION_ID);
+        requestPrivateDomainsEmpty(this.cloudFoundryClient, TEST_ORGANIZATION_ID);
+        requestSharedDomains(this.cloudFoundryClient, "test-shared-domain", "test-shared-domain-id");
+        requestRoutesEmpty(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null);
+        requestApplicationRoutesEmpty(this.cloudFoundryClient, "test-application-id");
+        requestCreateRoute(this.cloudFoundryClient, "test-shared-domain-id", "test-name", null, null, TEST_SPACE_ID, "test-route-id");
+        requestAssociateRoute(this.cloudFoundryClient, "test-application-id", "test-route-id");
+        requestGetApplicationPackage(this.cloudFoundryClient, "test-application-id", "test-package-version");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STOPPED");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .push(PushApplicationRequest.builder()
+                .incrementalCache(incrementalCache)
+                .path(testApplication)
+                .name("test-name")
+                .noStart(true)
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void pushPrivateDomain() throws IOException {
         Path testApplication = new ClassPathResource("test-application.zip").getFile().toPath();
@@ -2416,6 +2935,103 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void rollingRestart() {
+        requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
+        requestApplicationInstancesRestarted(this.cloudFoundryClient, "test-metadata-id", "RUNNING");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-0");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .rollingRestart(RollingRestartApplicationRequest.builder()
+                .name("test-application-name")
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void rollingRestartBatches() {
+        requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
+        requestApplicationInstancesSince(this.cloudFoundryClient, "test-metadata-id", Arrays.asList(
+            FluentMap.<String, Double>builder().entry("instance-0", 1.0).entry("instance-1", 1.0).entry("instance-2", 1.0).entry("instance-3", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 2.0).entry("instance-1", 2.0).entry("instance-2", 1.0).entry("instance-3", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 2.0).entry("instance-1", 2.0).entry("instance-2", 1.0).entry("instance-3", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 2.0).entry("instance-1", 2.0).entry("instance-2", 2.0).entry("instance-3", 2.0).build()));
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-0");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-1");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-2");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-3");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .rollingRestart(RollingRestartApplicationRequest.builder()
+                .batchSize(2)
+                .name("test-application-name")
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(5)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.applicationsV2(), times(4)).instances(any());
+        verify(this.cloudFoundryClient.applicationsV2(), times(4)).terminateInstance(any());
+    }
+
+    @Test
+    public void rollingRestartCrashed() {
+        requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
+        requestApplicationInstancesRestarted(this.cloudFoundryClient, "test-metadata-id", "CRASHED");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-0");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .rollingRestart(RollingRestartApplicationRequest.builder()
+                .name("test-application-name")
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .consumeErrorWith(t -> assertThat(t).isInstanceOf(IllegalStateException.class).hasMessage("Application test-application-name failed during restart"))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void rollingRestartInstanceRemoved() {
+        requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
+        requestApplicationInstancesSince(this.cloudFoundryClient, "test-metadata-id", Arrays.asList(
+            FluentMap.<String, Double>builder().entry("instance-0", 1.0).entry("instance-1", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 2.0).build()));
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-0");
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-1");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .rollingRestart(RollingRestartApplicationRequest.builder()
+                .batchSize(2)
+                .name("test-application-name")
+                .build()))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void rollingRestartNotYetReplaced() {
+        requestApplications(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
+        requestApplicationInstancesSince(this.cloudFoundryClient, "test-metadata-id", Arrays.asList(
+            FluentMap.<String, Double>builder().entry("instance-0", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 1.0).build(),
+            FluentMap.<String, Double>builder().entry("instance-0", 2.0).build()));
+        requestTerminateApplicationInstance(this.cloudFoundryClient, "test-metadata-id", "instance-0");
+
+        StepVerifier.withVirtualTime(() -> this.applications
+            .rollingRestart(RollingRestartApplicationRequest.builder()
+                .name("test-application-name")
+                .build()))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(500))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(5)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        verify(this.cloudFoundryClient.applicationsV2(), times(3)).instances(any());
+    }
+
     @Test
     public void runTask() {
         requestApplicationsV3(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "test-metadata-id");
@@ -2688,6 +3304,25 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void startStoppedApplicationEvents() {
+        requestApplicationsSpecificState(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID, "STOPPED");
+        requestUpdateApplicationState(this.cloudFoundryClient, "test-application-id", "STARTED");
+        requestGetApplication(this.cloudFoundryClient, "test-application-id");
+        requestApplicationInstancesRunning(this.cloudFoundryClient, "test-application-id");
+        requestLogsStreamLifecycle(this.dopplerClient, "test-application-id");
+
+        DefaultApplications applications = new DefaultApplications(Mono.just(this.cloudFoundryClient), Mono.just(this.dopplerClient), CompletionDetection.EVENTS, IdentityCache.disabled(),
+            this.randomWords, Mono.just(TEST_SPACE_ID));
+
+        StepVerifier.withVirtualTime(() -> applications
+            .start(StartApplicationRequest.builder()
+                .name("test-application-name")
+                .build()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void stopInvalidApplication() {
         requestApplicationsEmpty(this.cloudFoundryClient, "test-application-name", TEST_SPACE_ID);
@@ -2890,6 +3525,26 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestApplicationInstancesRestarted(CloudFoundryClient cloudFoundryClient, String applicationId, String state) {
+        when(cloudFoundryClient.applicationsV2()
+            .instances(ApplicationInstancesRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ApplicationInstancesResponse.builder(), "application-instances-")
+                    .instance("instance-0", fill(ApplicationInstanceInfo.builder(), "application-instance-info-")
+                        .since(1.0)
+                        .state("RUNNING")
+                        .build())
+                    .build()), Mono
+                .just(fill(ApplicationInstancesResponse.builder(), "application-instances-")
+                    .instance("instance-0", fill(ApplicationInstanceInfo.builder(), "application-instance-info-")
+                        .since(2.0)
+                        .state(state)
+                        .build())
+                    .build()));
+    }
+
     private static void requestApplicationInstancesRunning(CloudFoundryClient cloudFoundryClient, String applicationId) {
         when(cloudFoundryClient.applicationsV2()
             .instances(ApplicationInstancesRequest.builder()
@@ -2903,6 +3558,32 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestApplicationInstancesSince(CloudFoundryClient cloudFoundryClient, String applicationId, List<Map<String, Double>> sinces) {
+        when(cloudFoundryClient.applicationsV2()
+            .instances(ApplicationInstancesRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Mono
+                .defer(new Supplier<Mono<ApplicationInstancesResponse>>() {
+
+                    private final Queue<Map<String, Double>> responses = new LinkedList<>(sinces);
+
+                    @Override
+                    public Mono<ApplicationInstancesResponse> get() {
+                        Map<String, Double> since = this.responses.size() > 1 ? this.responses.poll() : this.responses.peek();
+
+                        return Mono.just(since.entrySet().stream()
+                            .reduce(fill(ApplicationInstancesResponse.builder(), "application-instances-"), (builder, entry) -> builder
+                                .instance(entry.getKey(), fill(ApplicationInstanceInfo.builder(), "application-instance-info-")
+                                    .since(entry.getValue())
+                                    .state("RUNNING")
+                                    .build()), (a, b) -> a)
+                            .build());
+                    }
+
+                }));
+    }
+
     private static void requestApplicationInstancesTimeout(CloudFoundryClient cloudFoundryClient, String applicationId) {
         when(cloudFoundryClient.applicationsV2()
             .instances(ApplicationInstancesRequest.builder()
@@ -3228,6 +3909,16 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
             .thenReturn(Mono.empty());
     }
 
+    private static void requestAssociateRouteError(CloudFoundryClient cloudFoundryClient, String applicationId, String routeId, Integer code) {
+        when(cloudFoundryClient.applicationsV2()
+            .associateRoute(AssociateApplicationRouteRequest.builder()
+                .applicationId(applicationId)
+                .routeId(routeId)
+                .build()))
+            .thenReturn(Mono
+                .error(new ClientV2Exception(null, code, "test-exception-description", "test-exception-errorCode")));
+    }
+
     private static void requestCancelTask(CloudFoundryClient cloudFoundryClient, String taskId) {
         when(cloudFoundryClient.tasks()
             .cancel(CancelTaskRequest.builder()
@@ -3357,6 +4048,15 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestDownloadApplicationNotFound(CloudFoundryClient cloudFoundryClient, String applicationId) {
+        when(cloudFoundryClient.applicationsV2()
+            .download(eq(DownloadApplicationRequest.builder()
+                .applicationId(applicationId)
+                .build()), any(WritableByteChannel.class)))
+            .thenReturn(Mono
+                .error(new ClientV2Exception(404, 150002, "test-exception-description", "CF-AppPackageNotFound")));
+    }
+
     private static void requestEvents(CloudFoundryClient cloudFoundryClient, String applicationId, EventEntity... entities) {
         ListEventsResponse.Builder responseBuilder = fill(ListEventsResponse.builder());
 
@@ -3424,6 +4124,19 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestGetApplicationPackage(CloudFoundryClient cloudFoundryClient, String applicationId, String packageVersion) {
+        when(cloudFoundryClient.applicationsV2()
+            .get(org.cloudfoundry.client.v2.applications.GetApplicationRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(GetApplicationResponse.builder())
+                    .entity(fill(ApplicationEntity.builder())
+                        .packageUpdatedAt(packageVersion)
+                        .build())
+                    .build()));
+    }
+
     private static void requestGetApplicationTimeout(CloudFoundryClient cloudFoundryClient, String applicationId) {
         when(cloudFoundryClient.applicationsV2()
             .get(org.cloudfoundry.client.v2.applications.GetApplicationRequest.builder()
@@ -3525,6 +4238,23 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestListMatchingResourcesMatched(CloudFoundryClient cloudFoundryClient, ResourceMatchingUtils.ArtifactMetadata artifactMetadata) {
+        Resource resource = Resource.builder()
+            .hash(artifactMetadata.getHash())
+            .mode(artifactMetadata.getPermissions())
+            .size(artifactMetadata.getSize())
+            .build();
+
+        when(cloudFoundryClient.resourceMatch()
+            .list(ListMatchingResourcesRequest.builder()
+                .resource(resource)
+                .build()))
+            .thenReturn(Mono
+                .just(ListMatchingResourcesResponse.builder()
+                    .resource(resource)
+                    .build()));
+    }
+
     private static void requestListTasks(CloudFoundryClient cloudFoundryClient, String applicationId) {
         when(cloudFoundryClient.applicationsV3()
             .listTasks(org.cloudfoundry.client.v3.applications.ListApplicationTasksRequest.builder()
@@ -3592,6 +4322,21 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestLogsStreamLifecycle(DopplerClient dopplerClient, String applicationId) {
+        when(dopplerClient
+            .stream(StreamRequest.builder()
+                .applicationId(applicationId)
+                .build()))
+            .thenReturn(Flux
+                .just(Envelope.builder()
+                    .eventType(EventType.LOG_MESSAGE)
+                    .logMessage(fill(LogMessage.builder(), "log-message-")
+                        .sourceType("CELL")
+                        .build())
+                    .origin("rsp")
+                    .build()));
+    }
+
     private static void requestOrganizationSpacesByName(CloudFoundryClient cloudFoundryClient, String organizationId, String space) {
         when(cloudFoundryClient.organizations()
             .listSpaces(ListOrganizationSpacesRequest.builder()
@@ -3696,6 +4441,18 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestProcessStatistics(CloudFoundryClient cloudFoundryClient, String processId) {
+        when(cloudFoundryClient.processes()
+            .getStatistics(GetProcessStatisticsRequest.builder()
+                .processId(processId)
+                .build()))
+            .thenReturn(Mono
+                .just(GetProcessStatisticsResponse.builder()
+                    .resource(fill(ProcessStatisticsResource.builder())
+                        .build())
+                    .build()));
+    }
+
     private static void requestRemoveApplicationRoute(CloudFoundryClient cloudFoundryClient, String applicationId, String routeId) {
         when(cloudFoundryClient.applicationsV2()
             .removeRoute(RemoveApplicationRouteRequest.builder()
@@ -3850,6 +4607,21 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestSpaceSummaryState(CloudFoundryClient cloudFoundryClient, String spaceId, String stackId, String state) {
+        when(cloudFoundryClient.spaces()
+            .getSummary(GetSpaceSummaryRequest.builder()
+                .spaceId(spaceId)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(GetSpaceSummaryResponse.builder(), "space-summary-")
+                    .application(fill(SpaceApplicationSummary.builder(), "application-summary-")
+                        .packageUpdatedAt(DateUtils.formatToIso8601(new Date(0)))
+                        .stackId(stackId)
+                        .state(state)
+                        .build())
+                    .build()));
+    }
+
     private static void requestStack(CloudFoundryClient cloudFoundryClient, String stackId) {
         when(cloudFoundryClient.stacks()
             .get(GetStackRequest.builder()
@@ -3873,6 +4645,24 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestStacks(CloudFoundryClient cloudFoundryClient, String stackId, String stackName) {
+        when(cloudFoundryClient.stacks()
+            .list(ListStacksRequest.builder()
+                .page(1)
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListStacksResponse.builder())
+                    .resource(StackResource.builder()
+                        .metadata(fill(Metadata.builder())
+                            .id(stackId)
+                            .build())
+                        .entity(fill(StackEntity.builder())
+                            .name(stackName)
+                            .build())
+                        .build())
+                    .build()));
+    }
+
     private static void requestTcpDomains(CloudFoundryClient cloudFoundryClient, String domain, String domainId) {
         when(cloudFoundryClient.sharedDomains()
             .list(ListSharedDomainsRequest.builder()
@@ -4031,4 +4821,56 @@ public final class DefaultApplicationsTest extends AbstractOperationsTest {
                     .build()));
     }
 
+    private static void requestUploadMatched(CloudFoundryClient cloudFoundryClient, String applicationId, String jobId, Consumer<UploadApplicationRequest> assertions) {
+        when(cloudFoundryClient.applicationsV2()
+            .upload(argThat(request -> request != null && applicationId.equals(request.getApplicationId()))))
+            .thenAnswer(invocation -> {
+                assertions.accept(invocation.getArgument(0));
+
+                return Mono
+                    .just(fill(UploadApplicationResponse.builder())
+                        .metadata(fill(Metadata.builder())
+                            .id(jobId)
+                            .build())
+                        .entity(fill(JobEntity.builder(), "job-entity-")
+                            .build())
+                        .build());
+            });
+    }
+
+    private static void requestUploadRejectedWithResources(CloudFoundryClient cloudFoundryClient, String applicationId, String jobId) {
+        when(cloudFoundryClient.applicationsV2()
+            .upload(argThat(request -> request != null && applicationId.equals(request.getApplicationId()))))
+            .thenAnswer(invocation -> {
+                if (!((UploadApplicationRequest) invocation.getArgument(0)).getResources().isEmpty()) {
+                    return Mono
+                        .error(new ClientV2Exception(422, 160001, "test-exception-description", "CF-AppBitsUploadInvalid"));
+                }
+
+                return Mono
+                    .just(fill(UploadApplicationResponse.builder())
+                        .metadata(fill(Metadata.builder())
+                            .id(jobId)
+                            .build())
+                        .entity(fill(JobEntity.builder(), "job-entity-")
+                            .build())
+                        .build());
+            });
+    }
+
+    private static void requestWebProcesses(CloudFoundryClient cloudFoundryClient, String spaceId, String processId) {
+        when(cloudFoundryClient.processes()
+            .list(ListProcessesRequest.builder()
+                .page(1)
+                .spaceId(spaceId)
+                .type("web")
+                .build()))
+            .thenReturn(Mono
+                .just(fill(ListProcessesResponse.builder())
+                    .resource(fill(ProcessResource.builder())
+                        .id(processId)
+                        .build())
+                    .build()));
+    }
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.applications;
+
+import org.junit.Test;
+
+public final class PushBlueGreenApplicationRequestTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void hosts() {
+        PushBlueGreenApplicationRequest.builder()
+            .manifest(ApplicationManifest.builder()
+                .host("test-host")
+                .name("test-name")
+                .build())
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noManifest() {
+        PushBlueGreenApplicationRequest.builder()
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void routes() {
+        PushBlueGreenApplicationRequest.builder()
+            .manifest(ApplicationManifest.builder()
+                .name("test-name")
+                .route(Route.builder()
+                    .route("test-route")
+                    .build())
+                .build())
+            .build();
+    }
+
+    @Test
+    public void valid() {
+        PushBlueGreenApplicationRequest.builder()
+            .manifest(ApplicationManifest.builder()
+                .name("test-name")
+                .build())
+            .build();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.operations.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class IdentityCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final IdentityCache identityCache = new IdentityCache(Duration.ofSeconds(10), 2, this.clock::get);
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    @Test
+    public void cached() {
+        resolve("test-name", "test-id");
+        resolve("test-name", "test-id");
+
+        assertThat(this.resolutions).hasValue(1);
+    }
+
+    @Test
+    public void disabled() {
+        IdentityCache.disabled().get(IdentityCache.APPLICATION, "test-space-id", "test-name", this::resolver).block();
+        IdentityCache.disabled().get(IdentityCache.APPLICATION, "test-space-id", "test-name", this::resolver).block();
+
+        assertThat(this.resolutions).hasValue(2);
+    }
+
+    @Test
+    public void error() {
+        this.identityCache
+            .get(IdentityCache.APPLICATION, "test-space-id", "test-name", () -> Mono.error(new IllegalArgumentException("test-message")))
+            .as(StepVerifier::create)
+            .expectError(IllegalArgumentException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.identityCache.size()).isZero();
+    }
+
+    @Test
+    public void evicted() {
+        resolve("test-name-1", "test-id-1");
+        resolve("test-name-2", "test-id-2");
+        resolve("test-name-3", "test-id-3");
+        resolve("test-name-1", "test-id-1");
+
+        assertThat(this.identityCache.size()).isEqualTo(2);
+        assertThat(this.resolutions).hasValue(4);
+    }
+
+    @Test
+    public void expired() {
+        resolve("test-name", "test-id");
+        this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        resolve("test-name", "test-id");
+
+        assertThat(this.resolutions).hasValue(2);
+    }
+
+    @Test
+    public void invalidate() {
+        resolve("test-name", "test-id");
+        this.identityCache.invalidate(IdentityCache.APPLICATION, "test-space-id", "test-name");
+        resolve("test-name", "test-id");
+
+        assertThat(this.resolutions).hasValue(2);
+    }
+
+    @Test
+    public void invalidateDuringResolution() {
+        this.identityCache
+            .get(IdentityCache.APPLICATION, "test-space-id", "test-name", () -> resolver()
+                .doOnNext(ignore -> this.identityCache.invalidate(IdentityCache.APPLICATION, "test-space-id", "test-name")))
+            .as(StepVerifier::create)
+            .expectNext("test-id")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(this.identityCache.size()).isZero();
+    }
+
+    @Test
+    public void scoped() {
+        resolve("test-name", "test-id");
+        this.identityCache.get(IdentityCache.SERVICE_INSTANCE, "test-space-id", "test-name", this::resolver).block();
+
+        assertThat(this.resolutions).hasValue(2);
+    }
+
+    private void resolve(String name, String id) {
+        this.identityCache
+            .get(IdentityCache.APPLICATION, "test-space-id", name, () -> resolver().map(ignore -> id))
+            .as(StepVerifier::create)
+            .expectNext(id)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private Mono<String> resolver() {
+        return Mono.fromSupplier(() -> {
+            this.resolutions.incrementAndGet();
+            return "test-id";
+        });
+    }
+
+}
@@ -17,101 +17,251 @@
 package org.cloudfoundry.util;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 /**
  * Dynamically creates {@link byte} arrays and caches them, reusing them once they have been released.
  * <p>
- * The maximum number of byte arrays is unbounded
+ * Byte arrays come in size classes of 8 KiB, 64 KiB and 1 MiB.  Each size class is split into stripes selected by the calling thread so that concurrent callers rarely contend for the same
+ * slot.  Released byte arrays are only retained while the total retained size is below 32 MiB.
  * <p>
- * The default time-to-live for unused byte arrays is one minute
+ * Unused byte arrays are evicted after between one and two minutes
  */
 public final class ByteArrayPool {
 
-    private static final AtomicLong EVICTOR_COUNTER = new AtomicLong();
-
     private static final ThreadFactory EVICTOR_FACTORY = r -> {
-        Thread t = new Thread(r, "byte-buffer-evictor-" + EVICTOR_COUNTER.incrementAndGet());
+        Thread t = new Thread(r, "byte-array-pool-evictor");
         t.setDaemon(true);
         return t;
     };
 
     private static final int MIBIBYTE = 1_024 * 1_024;
 
-    private static ByteArrayPool INSTANCE = new ByteArrayPool(MIBIBYTE, Duration.ofMinutes(1));
+    private static final int[] SIZE_CLASSES = new int[]{8 * 1_024, 64 * 1_024, MIBIBYTE};
+
+    private static final int SLOTS_PER_STRIPE = 4;
+
+    private static final ByteArrayPool INSTANCE = new ByteArrayPool(32L * MIBIBYTE, Duration.ofMinutes(1), Executors.newSingleThreadScheduledExecutor(EVICTOR_FACTORY));
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final long maximumRetained;
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong retained = new AtomicLong();
+
+    private final AtomicReferenceArray<byte[]>[] slots;
 
-    private final Queue<ByteArrayExpiry> cache = new ConcurrentLinkedQueue<>();
+    private final AtomicLongArray[] stamps;
 
-    private final int capacity;
+    private final int stripeMask;
 
-    private final Duration ttl;
+    private volatile long tick;
 
-    private ByteArrayPool(int capacity, Duration ttl) {
-        this.capacity = capacity;
-        this.ttl = ttl;
+    @SuppressWarnings("unchecked")
+    ByteArrayPool(long maximumRetained, Duration ttl, ScheduledExecutorService evictor) {
+        this.maximumRetained = maximumRetained;
 
-        Executors.newScheduledThreadPool(1, EVICTOR_FACTORY)
-            .scheduleAtFixedRate(this::evict, ttl.toMillis(), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+        this.stripeMask = stripes - 1;
+
+        this.slots = new AtomicReferenceArray[SIZE_CLASSES.length];
+        this.stamps = new AtomicLongArray[SIZE_CLASSES.length];
+        for (int sizeClass = 0; sizeClass < SIZE_CLASSES.length; sizeClass++) {
+            this.slots[sizeClass] = new AtomicReferenceArray<>(stripes * SLOTS_PER_STRIPE);
+            this.stamps[sizeClass] = new AtomicLongArray(stripes * SLOTS_PER_STRIPE);
+        }
+
+        evictor.scheduleAtFixedRate(this::evict, ttl.toMillis(), ttl.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Executes a {@link Consumer} providing a pooled {@code byte} array
+     * Returns the statistics of the pool
+     *
+     * @return the statistics of the pool
+     */
+    public static Statistics statistics() {
+        return INSTANCE.getStatistics();
+    }
+
+    /**
+     * Executes a {@link Consumer} providing a pooled {@code byte} array of the largest size class
      *
      * @param consumer the {@link Consumer} of the {@link byte} array
      */
     public static void withByteArray(Consumer<byte[]> consumer) {
-        INSTANCE.doWithByteArray(consumer);
+        withByteArray(-1, consumer);
+    }
+
+    /**
+     * Executes a {@link Consumer} providing a pooled {@code byte} array of the smallest size class that holds {@code size} bytes.  The byte array may be larger or, for sizes over 1 MiB,
+     * smaller than {@code size}.
+     *
+     * @param size     the expected number of bytes, or a negative number if unknown
+     * @param consumer the {@link Consumer} of the {@link byte} array
+     */
+    public static void withByteArray(long size, Consumer<byte[]> consumer) {
+        INSTANCE.doWithByteArray(size, consumer);
     }
 
-    private void doWithByteArray(Consumer<byte[]> consumer) {
-        byte[] byteArray = Optional.ofNullable(this.cache.poll())
-            .map(ByteArrayExpiry::getByteArray)
-            .orElseGet(() -> new byte[this.capacity]);
+    void doWithByteArray(long size, Consumer<byte[]> consumer) {
+        int sizeClass = getSizeClass(size);
+        byte[] byteArray = acquire(sizeClass);
 
         try {
             consumer.accept(byteArray);
         } finally {
-            this.cache.offer(new ByteArrayExpiry(byteArray, Instant.now().plus(this.ttl)));
+            release(sizeClass, byteArray);
         }
     }
 
-    private void evict() {
-        Instant now = Instant.now();
+    void evict() {
+        long expired = this.tick++;
 
-        new ArrayList<>(this.cache).stream()
-            .filter(expiry -> expiry.getExpiration().isBefore(now))
-            .forEach(this.cache::remove);
+        for (int sizeClass = 0; sizeClass < SIZE_CLASSES.length; sizeClass++) {
+            AtomicReferenceArray<byte[]> slots = this.slots[sizeClass];
+            AtomicLongArray stamps = this.stamps[sizeClass];
+
+            for (int i = 0; i < slots.length(); i++) {
+                byte[] byteArray = slots.get(i);
+
+                if (byteArray != null && stamps.get(i) < expired && slots.compareAndSet(i, byteArray, null)) {
+                    this.retained.addAndGet(-byteArray.length);
+                }
+            }
+        }
     }
 
-    private static class ByteArrayExpiry {
+    Statistics getStatistics() {
+        return new Statistics(this.hits.get(), this.misses.get(), this.retained.get());
+    }
 
-        private final byte[] byteArray;
+    private static int getSizeClass(long size) {
+        if (size < 0) {
+            return SIZE_CLASSES.length - 1;
+        }
 
-        private final Instant expiration;
+        for (int sizeClass = 0; sizeClass < SIZE_CLASSES.length - 1; sizeClass++) {
+            if (size <= SIZE_CLASSES[sizeClass]) {
+                return sizeClass;
+            }
+        }
 
-        private ByteArrayExpiry(byte[] byteArray, Instant expiration) {
-            this.byteArray = byteArray;
-            this.expiration = expiration;
+        return SIZE_CLASSES.length - 1;
+    }
+
+    private byte[] acquire(int sizeClass) {
+        AtomicReferenceArray<byte[]> slots = this.slots[sizeClass];
+        int start = getStripe() * SLOTS_PER_STRIPE;
+
+        for (int i = start; i < start + SLOTS_PER_STRIPE; i++) {
+            byte[] byteArray = slots.getAndSet(i, null);
+
+            if (byteArray != null) {
+                this.retained.addAndGet(-byteArray.length);
+                this.hits.incrementAndGet();
+                return byteArray;
+            }
         }
 
-        private byte[] getByteArray() {
-            return this.byteArray;
+        this.misses.incrementAndGet();
+        return new byte[SIZE_CLASSES[sizeClass]];
+    }
+
+    private int getStripe() {
+        return (int) (Thread.currentThread().getId() & this.stripeMask);
+    }
+
+    private void release(int sizeClass, byte[] byteArray) {
+        if (this.retained.addAndGet(byteArray.length) > this.maximumRetained) {
+            this.retained.addAndGet(-byteArray.length);
+            return;
         }
 
-        private Instant getExpiration() {
-            return this.expiration;
+        AtomicReferenceArray<byte[]> slots = this.slots[sizeClass];
+        AtomicLongArray stamps = this.stamps[sizeClass];
+        int start = getStripe() * SLOTS_PER_STRIPE;
+
+        for (int i = start; i < start + SLOTS_PER_STRIPE; i++) {
+            if (slots.get(i) == null) {
+                stamps.set(i, this.tick);
+
+                if (slots.compareAndSet(i, null, byteArray)) {
+                    return;
+                }
+            }
         }
 
+        this.retained.addAndGet(-byteArray.length);
     }
 
+    /**
+     * Statistics describing the use of a {@link ByteArrayPool}
+     */
+    public static final class Statistics {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long retainedBytes;
+
+        private Statistics(long hits, long misses, long retainedBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.retainedBytes = retainedBytes;
+        }
+
+        /**
+         * Returns the proportion of requests served by a pooled byte array
+         *
+         * @return the proportion of requests served by a pooled byte array, or zero if there have been no requests
+         */
+        public double getHitRate() {
+            long requests = this.hits + this.misses;
+            return requests == 0 ? 0 : (double) this.hits / requests;
+        }
+
+        /**
+         * Returns the number of requests served by a pooled byte array
+         *
+         * @return the number of requests served by a pooled byte array
+         */
+        public long getHits() {
+            return this.hits;
+        }
+
+        /**
+         * Returns the number of requests that allocated a new byte array
+         *
+         * @return the number of requests that allocated a new byte array
+         */
+        public long getMisses() {
+            return this.misses;
+        }
+
+        /**
+         * Returns the total size of the byte arrays currently retained by the pool
+         *
+         * @return the total size, in bytes, of the byte arrays currently retained by the pool
+         */
+        public long getRetainedBytes() {
+            return this.retainedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{hits=%d, misses=%d, retainedBytes=%d}", this.hits, this.misses, this.retainedBytes);
+        }
+
+    }
 
 }
@@ -21,11 +21,18 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -48,8 +55,71 @@ public final class DelayUtils {
      * @return a delayed {@link Publisher}
      */
     public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout) {
+        return exponentialBackOff(minimum, maximum, timeout, Jitter.NONE);
+    }
+
+    /**
+     * Implements a randomized exponential backoff delay for use with {@link Mono#repeatWhenEmpty(Function)}.  Delays are shortened so that the last delay ends at the timeout.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @param jitter  the randomization applied to each delay
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout, Jitter jitter) {
         Instant finish = Instant.now().plus(timeout);
-        return iterations -> getDelay(minimum, maximum, finish, iterations);
+        return iterations -> getDelay(new BackOff(minimum, maximum, finish, jitter), iterations.map(iteration -> Tuples.of(iteration, Optional.<Duration>empty())));
+    }
+
+    /**
+     * Implements an exponential backoff delay for use with {@link Mono#repeatWhenEmpty(Function)} that is cut short whenever {@code signals} emits.  Signals that arrive while no delay is in
+     * progress end the following delay immediately.  If {@code signals} fails, the exponential backoff continues unaffected.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @param signals the signals that end a delay early
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout, Publisher<?> signals) {
+        return exponentialBackOff(minimum, maximum, timeout, Jitter.NONE, signals);
+    }
+
+    /**
+     * Implements a randomized exponential backoff delay for use with {@link Mono#repeatWhenEmpty(Function)} that is cut short whenever {@code signals} emits.  Signals that arrive while no
+     * delay is in progress end the following delay immediately.  If {@code signals} fails, the exponential backoff continues unaffected.  Delays are shortened so that the last delay ends at the
+     * timeout.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @param jitter  the randomization applied to each delay
+     * @param signals the signals that end a delay early
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Long>, Publisher<?>> exponentialBackOff(Duration minimum, Duration maximum, Duration timeout, Jitter jitter, Publisher<?> signals) {
+        Instant finish = Instant.now().plus(timeout);
+
+        return iterations -> Flux.using(
+            () -> new Signals(signals),
+            s -> {
+                BackOff backOff = new BackOff(minimum, maximum, finish, jitter);
+
+                return iterations
+                    .flatMap(iteration -> {
+                        Duration delay = backOff.next(iteration, Optional.empty());
+
+                        if (delay == null) {
+                            return Mono.error(new DelayTimeoutException());
+                        }
+
+                        return Mono
+                            .first(s.next(), Mono.delay(delay))
+                            .doOnSubscribe(logDelay(delay));
+                    }, 1);
+            },
+            Signals::dispose);
     }
 
     /**
@@ -61,8 +131,38 @@ public final class DelayUtils {
      * @return a delayed {@link Publisher}
      */
     public static Function<Flux<Throwable>, Publisher<?>> exponentialBackOffError(Duration minimum, Duration maximum, Duration timeout) {
+        return exponentialBackOffError(minimum, maximum, timeout, Jitter.NONE);
+    }
+
+    /**
+     * Implements a randomized exponential backoff delay for use with {@link Mono#retryWhen(Function)}.  Delays are shortened so that the last delay ends at the timeout.
+     *
+     * @param minimum the minimum duration
+     * @param maximum the maximum duration
+     * @param timeout the maximum amount of time to delay for
+     * @param jitter  the randomization applied to each delay
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Throwable>, Publisher<?>> exponentialBackOffError(Duration minimum, Duration maximum, Duration timeout, Jitter jitter) {
+        return exponentialBackOffError(minimum, maximum, timeout, jitter, t -> Optional.empty());
+    }
+
+    /**
+     * Implements a randomized exponential backoff delay for use with {@link Mono#retryWhen(Function)}.  When {@code retryAfter} returns a duration for an error (e.g. from a {@code Retry-After}
+     * header), the delay following that error is at least that long.  Delays are shortened so that the last delay ends at the timeout.
+     *
+     * @param minimum    the minimum duration
+     * @param maximum    the maximum duration
+     * @param timeout    the maximum amount of time to delay for
+     * @param jitter     the randomization applied to each delay
+     * @param retryAfter a function returning the server-requested delay for an error, if any
+     * @return a delayed {@link Publisher}
+     */
+    public static Function<Flux<Throwable>, Publisher<?>> exponentialBackOffError(Duration minimum, Duration maximum, Duration timeout, Jitter jitter,
+                                                                                  Function<Throwable, Optional<Duration>> retryAfter) {
         Instant finish = Instant.now().plus(timeout);
-        return errors -> getDelay(minimum, maximum, finish, errors.zipWith(Flux.range(0, Integer.MAX_VALUE), (error, iteration) -> iteration.longValue()));
+        return errors -> getDelay(new BackOff(minimum, maximum, finish, jitter),
+            errors.zipWith(Flux.range(0, Integer.MAX_VALUE), (error, iteration) -> Tuples.of(iteration.longValue(), retryAfter.apply(error))));
     }
 
     /**
@@ -95,11 +195,12 @@ public final class DelayUtils {
         return min(candidate, maximum);
     }
 
-    private static Flux<?> getDelay(Duration minimum, Duration maximum, Instant finish, Flux<Long> iterations) {
+    private static Flux<?> getDelay(BackOff backOff, Flux<Tuple2<Long, Optional<Duration>>> iterations) {
         return iterations
-            .map(iteration -> calculateDuration(minimum, maximum, iteration))
-            .flatMap(delay -> {
-                if (Instant.now().isAfter(finish)) {
+            .flatMap(iteration -> {
+                Duration delay = backOff.next(iteration.getT1(), iteration.getT2());
+
+                if (delay == null) {
                     return Mono.error(new DelayTimeoutException());
                 }
 
@@ -122,8 +223,101 @@ public final class DelayUtils {
         };
     }
 
+    private static Duration max(Duration a, Duration b) {
+        return (a.compareTo(b) >= 0) ? a : b;
+    }
+
     private static Duration min(Duration a, Duration b) {
         return (a.compareTo(b) <= 0) ? a : b;
     }
 
+    private static Duration random(Duration minimum, Duration maximum) {
+        if (maximum.compareTo(minimum) <= 0) {
+            return minimum;
+        }
+
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(minimum.toMillis(), maximum.toMillis() + 1));
+    }
+
+    static final class BackOff {
+
+        private final Instant finish;
+
+        private final Jitter jitter;
+
+        private final Duration maximum;
+
+        private final Duration minimum;
+
+        private Duration previous;
+
+        BackOff(Duration minimum, Duration maximum, Instant finish, Jitter jitter) {
+            this.finish = finish;
+            this.jitter = jitter;
+            this.maximum = maximum;
+            this.minimum = minimum;
+            this.previous = minimum;
+        }
+
+        /**
+         * Returns the next delay, at least as long as the server-requested delay if there is one, or {@code null} if the timeout has passed
+         */
+        Duration next(Long iteration, Optional<Duration> retryAfter) {
+            Duration remaining = Duration.between(Instant.now(), this.finish);
+            if (remaining.isNegative() || remaining.isZero()) {
+                return null;
+            }
+
+            Duration candidate;
+            switch (this.jitter) {
+                case DECORRELATED:
+                    candidate = min(random(this.minimum, this.previous.multipliedBy(3)), this.maximum);
+                    break;
+                case FULL:
+                    candidate = random(this.minimum, calculateDuration(this.minimum, this.maximum, iteration));
+                    break;
+                default:
+                    candidate = calculateDuration(this.minimum, this.maximum, iteration);
+            }
+
+            if (retryAfter.isPresent()) {
+                candidate = max(candidate, retryAfter.get());
+            }
+            this.previous = candidate;
+
+            return min(candidate, remaining);
+        }
+
+    }
+
+    private static final class Signals implements Disposable {
+
+        private final AtomicBoolean pending = new AtomicBoolean();
+
+        private final DirectProcessor<Long> processor = DirectProcessor.create();
+
+        private final Disposable subscription;
+
+        private Signals(Publisher<?> signals) {
+            this.subscription = Flux.from(signals)
+                .subscribe(signal -> {
+                    this.pending.set(true);
+                    this.processor.onNext(0L);
+                }, t -> LOGGER.debug("Signals failed, continuing with delays only", t));
+        }
+
+        @Override
+        public void dispose() {
+            this.subscription.dispose();
+            this.processor.onComplete();
+        }
+
+        private Mono<Long> next() {
+            return Mono
+                .first(this.processor.next(), Mono.defer(() -> this.pending.get() ? Mono.just(0L) : Mono.never()))
+                .doOnNext(signal -> this.pending.set(false));
+        }
+
+    }
+
 }
@@ -16,10 +16,13 @@
 
 package org.cloudfoundry.util;
 
+import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.client.v2.ClientV2Exception;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -30,6 +33,20 @@ public final class ExceptionUtils {
     private ExceptionUtils() {
     }
 
+    /**
+     * Returns the delay a Cloud Foundry error requested before its request is retried
+     *
+     * @param t the error
+     * @return the requested delay, or empty if the error is not a Cloud Foundry error or did not request one
+     */
+    public static Optional<Duration> getRetryAfter(Throwable t) {
+        if (!(t instanceof AbstractCloudFoundryException)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(((AbstractCloudFoundryException) t).getRetryAfter());
+    }
+
     /**
      * Returns a {@link Mono} containing an {@link IllegalArgumentException} with the configured message
      *
@@ -20,22 +20,42 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 
 /**
  * Utilities for files
@@ -44,6 +64,12 @@ public final class FileUtils {
 
     private static final Integer DEFAULT_PERMISSIONS = 0744;
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final long MAPPED_HASH_THRESHOLD = 1024 * 1024;
+
+    private static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
     private static final Map<PosixFilePermission, Integer> PERMISSION_MODES = FluentMap.<PosixFilePermission, Integer>builder()
         .entry(PosixFilePermission.OWNER_READ, 0400)
         .entry(PosixFilePermission.OWNER_WRITE, 0200)
@@ -77,17 +103,38 @@ public final class FileUtils {
      * @return the {@link Path} for a compressed artifact
      */
     public static Mono<Path> compress(Path candidate, Predicate<String> filter) {
+        return compress(candidate, filter, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Compresses a candidate {@link Path} filtering out entries, at a given compression level
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param filter    a filter applied to each path
+     * @param level     the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return the {@link Path} for a compressed artifact
+     */
+    public static Mono<Path> compress(Path candidate, Predicate<String> filter, int level) {
+        return compress(candidate, filter, level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Compresses a candidate {@link Path} filtering out entries, at a given compression level and with a given deflate strategy
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param filter    a filter applied to each path
+     * @param level     the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy  the deflate strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @return the {@link Path} for a compressed artifact
+     */
+    public static Mono<Path> compress(Path candidate, Predicate<String> filter, int level, int strategy) {
         return Mono
             .defer(() -> {
                 try {
                     Path staging = Files.createTempFile(String.format("compressed-%s-", candidate.getFileName()), ".zip");
 
-                    try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(staging.toFile())) {
-                        if (Files.isDirectory(candidate)) {
-                            compressFromDirectory(candidate, filter, out);
-                        } else {
-                            compressFromZip(candidate, filter, out);
-                        }
+                    try (DeflatingZipArchiveOutputStream out = new DeflatingZipArchiveOutputStream(staging.toFile())) {
+                        compress(candidate, filter, level, strategy, out);
                     }
 
                     return Mono.just(staging);
@@ -98,6 +145,48 @@ public final class FileUtils {
             .subscribeOn(Schedulers.elastic());
     }
 
+    /**
+     * Compresses a candidate {@link Path} filtering out entries, writing the archive to an {@link OutputStream} as it is created.  The {@link OutputStream} is closed once the archive is complete.
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param filter    a filter applied to each path
+     * @param out       the {@link OutputStream} to write the archive to
+     */
+    public static void compress(Path candidate, Predicate<String> filter, OutputStream out) {
+        compress(candidate, filter, Deflater.DEFAULT_COMPRESSION, out);
+    }
+
+    /**
+     * Compresses a candidate {@link Path} filtering out entries at a given compression level, writing the archive to an {@link OutputStream} as it is created.  The {@link OutputStream} is closed
+     * once the archive is complete.
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param filter    a filter applied to each path
+     * @param level     the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param out       the {@link OutputStream} to write the archive to
+     */
+    public static void compress(Path candidate, Predicate<String> filter, int level, OutputStream out) {
+        compress(candidate, filter, level, Deflater.DEFAULT_STRATEGY, out);
+    }
+
+    /**
+     * Compresses a candidate {@link Path} filtering out entries at a given compression level and with a given deflate strategy, writing the archive to an {@link OutputStream} as it is created.
+     * The {@link OutputStream} is closed once the archive is complete.
+     *
+     * @param candidate the candidate {@link Path} to compress
+     * @param filter    a filter applied to each path
+     * @param level     the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy  the deflate strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @param out       the {@link OutputStream} to write the archive to
+     */
+    public static void compress(Path candidate, Predicate<String> filter, int level, int strategy, OutputStream out) {
+        try (DeflatingZipArchiveOutputStream zip = new DeflatingZipArchiveOutputStream(out)) {
+            compress(candidate, filter, level, strategy, zip);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
     /**
      * Get the relative path of an application
      *
@@ -111,17 +200,16 @@ public final class FileUtils {
     }
 
     /**
-     * Calculates the SHA-1 hash for a {@link Path}
+     * Calculates the SHA-1 hash for a {@link Path}.  Files larger than a megabyte are memory-mapped and smaller files are read through a pooled buffer sized to the file.
      *
      * @param path the {@link Path} to calculate the hash for
      * @return a {@link String} representation of the hash
      */
     public static String hash(Path path) {
-        try (InputStream in = Files.newInputStream(path)) {
-            return hash(in);
-        } catch (IOException e) {
-            throw Exceptions.propagate(e);
-        }
+        MessageDigest digest = getSha1Digest();
+        digest(path, Collections.singletonList(digest));
+
+        return toHash(digest);
     }
 
     /**
@@ -131,24 +219,53 @@ public final class FileUtils {
      * @return {@link String} representation of the hash
      */
     public static String hash(InputStream in) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("sha1");
+        return hash(in, -1);
+    }
 
-            ByteArrayPool.withByteArray(buffer -> {
-                try {
-                    int length;
-                    while ((length = in.read(buffer)) != -1) {
-                        digest.update(buffer, 0, length);
-                    }
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
+    /**
+     * Calculates the SHA-1 hash for an {@link InputStream} whose size is known
+     *
+     * @param in   the {@link InputStream} to calculate the hash for
+     * @param size the number of bytes in the {@link InputStream}, or a negative number if unknown
+     * @return {@link String} representation of the hash
+     */
+    public static String hash(InputStream in, long size) {
+        MessageDigest digest = getSha1Digest();
+
+        ByteArrayPool.withByteArray(size, buffer -> {
+            try {
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, length);
                 }
-            });
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
 
-            return String.format("%040x", new BigInteger(1, digest.digest()));
-        } catch (NoSuchAlgorithmException e) {
-            throw Exceptions.propagate(e);
+        return toHash(digest);
+    }
+
+    /**
+     * Calculates several hashes for a {@link Path} in a single read of its content (e.g. SHA-1 for resource matching and SHA-256 for package checksums)
+     *
+     * @param path       the {@link Path} to calculate the hashes for
+     * @param algorithms the {@link MessageDigest} algorithms of the hashes
+     * @return a {@link Map} of each algorithm to a {@link String} representation of its hash
+     */
+    public static Map<String, String> hashes(Path path, String... algorithms) {
+        List<MessageDigest> digests = Arrays.stream(algorithms)
+            .map(FileUtils::getDigest)
+            .collect(Collectors.toList());
+
+        digest(path, digests);
+
+        Map<String, String> hashes = new LinkedHashMap<>();
+        for (int i = 0; i < algorithms.length; i++) {
+            hashes.put(algorithms[i], toHash(digests.get(i)));
         }
+
+        return hashes;
     }
 
     /**
@@ -189,24 +306,95 @@ public final class FileUtils {
         }
     }
 
-    private static void compressFromDirectory(Path candidate, Predicate<String> filter, ZipArchiveOutputStream out) {
-        try (Stream<Path> contents = Files.walk(candidate)) {
-            contents
-                .filter(path -> {
+    /**
+     * Writes content to a file through a {@link WritableByteChannel}, optionally verifying the SHA-256 hash of the content as it is written.  The file is deleted if writing or verification fails.
+     *
+     * @param file   the file to write to
+     * @param sha256 the expected SHA-256 hash of the content, or {@code null} to skip verification
+     * @param writer a function that writes the content to the channel it is given
+     * @return the file
+     */
+    public static Mono<Path> writeToFile(Path file, String sha256, Function<WritableByteChannel, Mono<Void>> writer) {
+        return Mono
+            .using(() -> FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                channel -> {
+                    if (sha256 == null) {
+                        return writer.apply(channel);
+                    }
+
+                    MessageDigest digest = getSha256Digest();
+
+                    return writer.apply(new DigestingByteChannel(channel, digest))
+                        .then(Mono.defer(() -> {
+                            String actual = toHash(digest);
+
+                            if (!actual.equalsIgnoreCase(sha256)) {
+                                return Mono.<Void>error(new IllegalStateException(String.format("SHA-256 of %s is %s, expected %s", file, actual, sha256)));
+                            }
+
+                            return Mono.<Void>empty();
+                        }));
+                },
+                channel -> {
                     try {
-                        return !Files.isSameFile(candidate, path);
+                        channel.close();
                     } catch (IOException e) {
                         throw Exceptions.propagate(e);
                     }
                 })
-                .filter(path -> filter.test(getRelativePathName(candidate, path)))
-                .forEach(path -> {
-                    try (InputStream in = Files.isDirectory(path) ? null : Files.newInputStream(path)) {
-                        write(in, Files.getLastModifiedTime(path), getUnixMode(path), out, getRelativePathName(candidate, path));
-                    } catch (IOException e) {
-                        throw Exceptions.propagate(e);
-                    }
-                });
+            .onErrorResume(t -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    t.addSuppressed(e);
+                }
+
+                return Mono.error(t);
+            })
+            .thenReturn(file);
+    }
+
+    static String toHash(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0x0f];
+        }
+
+        return new String(hex);
+    }
+
+    private static void compress(Path candidate, Predicate<String> filter, int level, int strategy, DeflatingZipArchiveOutputStream out) {
+        out.setLevel(level);
+        out.setStrategy(strategy);
+
+        if (Files.isDirectory(candidate)) {
+            compressFromDirectory(candidate, filter, level, strategy, out);
+        } else {
+            compressFromZip(candidate, filter, out);
+        }
+    }
+
+    private static void compressFromDirectory(Path candidate, Predicate<String> filter, int level, int strategy, ZipArchiveOutputStream out) {
+        try (Stream<Path> contents = Files.walk(candidate)) {
+            Flux<CompressedEntry> entries = Flux
+                .fromStream(contents
+                    .filter(path -> {
+                        try {
+                            return !Files.isSameFile(candidate, path);
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    })
+                    .filter(path -> filter.test(getRelativePathName(candidate, path))))
+                .flatMapSequential(path -> Mono
+                    .fromCallable(() -> CompressedEntry.create(candidate, path, level, strategy))
+                    .subscribeOn(Schedulers.elastic()), Schedulers.DEFAULT_POOL_SIZE, 1);
+
+            for (CompressedEntry entry : entries.toIterable()) {
+                entry.writeTo(out);
+            }
         } catch (IOException e) {
             throw Exceptions.propagate(e);
         }
@@ -219,10 +407,22 @@ public final class FileUtils {
             while (entries.hasMoreElements()) {
                 ZipArchiveEntry entry = entries.nextElement();
 
-                if (filter.test(entry.getName())) {
+                if (!filter.test(entry.getName())) {
+                    continue;
+                }
+
+                int mode = entry.getUnixMode();
+
+                if (isRawCopyable(entry)) {
+                    ZipArchiveEntry copy = new ZipArchiveEntry(entry);
+                    copy.setUnixMode(mode == 0 ? DEFAULT_PERMISSIONS : mode);
+
+                    try (InputStream in = zipFile.getRawInputStream(entry)) {
+                        out.addRawArchiveEntry(copy, in);
+                    }
+                } else {
                     try (InputStream in = zipFile.getInputStream(entry)) {
-                        int mode = entry.getUnixMode();
-                        write(in, entry.getLastModifiedTime(), mode == 0 ? DEFAULT_PERMISSIONS : mode, out, entry.getName());
+                        write(in, entry.getSize(), entry.getLastModifiedTime(), mode == 0 ? DEFAULT_PERMISSIONS : mode, out, entry.getName());
                     }
                 }
             }
@@ -231,6 +431,52 @@ public final class FileUtils {
         }
     }
 
+    private static void digest(Path path, List<MessageDigest> digests) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < MAPPED_HASH_THRESHOLD) {
+                ByteArrayPool.withByteArray(size, byteArray -> {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(byteArray);
+
+                        while (channel.read(buffer) != -1) {
+                            buffer.flip();
+                            update(digests, buffer);
+                            buffer.clear();
+                        }
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                });
+
+                return;
+            }
+
+            for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+                update(digests, channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+            }
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static MessageDigest getDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static MessageDigest getSha1Digest() {
+        return getDigest("sha1");
+    }
+
+    private static MessageDigest getSha256Digest() {
+        return getDigest("sha-256");
+    }
+
     private static int getUnixMode(Path path) throws IOException {
         if (!isPosixFile(path)) {
             return DEFAULT_PERMISSIONS;
@@ -245,7 +491,24 @@ public final class FileUtils {
         return path.getFileSystem().supportedFileAttributeViews().contains("posix");
     }
 
-    private static void write(InputStream in, FileTime lastModifiedTime, int mode, ZipArchiveOutputStream out, String path) {
+    private static boolean isRawCopyable(ZipArchiveEntry entry) {
+        return (entry.getMethod() == ZipEntry.STORED || entry.getMethod() == ZipEntry.DEFLATED)
+            && !entry.getGeneralPurposeBit().usesEncryption()
+            && entry.getCompressedSize() != ZipArchiveEntry.SIZE_UNKNOWN
+            && entry.getSize() != ZipArchiveEntry.SIZE_UNKNOWN;
+    }
+
+    private static String toHash(MessageDigest digest) {
+        return toHash(digest.digest());
+    }
+
+    private static void update(List<MessageDigest> digests, ByteBuffer buffer) {
+        for (MessageDigest digest : digests) {
+            digest.update(buffer.duplicate());
+        }
+    }
+
+    private static void write(InputStream in, long size, FileTime lastModifiedTime, int mode, ZipArchiveOutputStream out, String path) {
         try {
             ZipArchiveEntry entry = new ZipArchiveEntry(path);
             entry.setUnixMode(mode);
@@ -253,7 +516,7 @@ public final class FileUtils {
             out.putArchiveEntry(entry);
 
             if (in != null) {
-                ByteArrayPool.withByteArray(buffer -> {
+                ByteArrayPool.withByteArray(size, buffer -> {
                     try {
                         int length;
                         while ((length = in.read(buffer)) != -1) {
@@ -271,4 +534,202 @@ public final class FileUtils {
         }
     }
 
+    private static final class CompressedEntry {
+
+        private static final int MAXIMUM_BUFFERED_SIZE = 1024 * 1024;
+
+        private static final Set<String> STORED_EXTENSIONS = new HashSet<>(Arrays.asList(
+            ".7z", ".bz2", ".ear", ".gif", ".gz", ".jar", ".jpeg", ".jpg", ".png", ".tgz", ".war", ".webp", ".woff", ".woff2", ".xz", ".zip"));
+
+        private final byte[] content;
+
+        private final ZipArchiveEntry entry;
+
+        private final Path path;
+
+        private CompressedEntry(byte[] content, ZipArchiveEntry entry, Path path) {
+            this.content = content;
+            this.entry = entry;
+            this.path = path;
+        }
+
+        private static CompressedEntry create(Path root, Path path, int level, int strategy) throws IOException {
+            ZipArchiveEntry entry = new ZipArchiveEntry(getRelativePathName(root, path));
+            entry.setUnixMode(getUnixMode(path));
+            entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+
+            if (Files.isDirectory(path)) {
+                return new CompressedEntry(null, entry, null);
+            }
+
+            long size = Files.size(path);
+            boolean stored = isStored(path) || level == Deflater.NO_COMPRESSION;
+
+            if (stored && size > MAXIMUM_BUFFERED_SIZE) {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(size);
+                entry.setCompressedSize(size);
+                entry.setCrc(crc(path, size));
+
+                return new CompressedEntry(null, entry, path);
+            }
+
+            if (size > MAXIMUM_BUFFERED_SIZE) {
+                return new CompressedEntry(null, entry, path);
+            }
+
+            byte[] content = Files.readAllBytes(path);
+
+            CRC32 crc = new CRC32();
+            crc.update(content);
+
+            entry.setSize(content.length);
+            entry.setCrc(crc.getValue());
+
+            if (stored) {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setCompressedSize(content.length);
+                return new CompressedEntry(content, entry, path);
+            }
+
+            byte[] deflated = deflate(content, level, strategy);
+
+            if (deflated.length < content.length) {
+                entry.setMethod(ZipEntry.DEFLATED);
+                entry.setCompressedSize(deflated.length);
+                return new CompressedEntry(deflated, entry, path);
+            } else {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setCompressedSize(content.length);
+                return new CompressedEntry(content, entry, path);
+            }
+        }
+
+        private static long crc(Path path, long size) {
+            CRC32 crc = new CRC32();
+
+            try (InputStream in = Files.newInputStream(path)) {
+                ByteArrayPool.withByteArray(size, buffer -> {
+                    try {
+                        int length;
+                        while ((length = in.read(buffer)) != -1) {
+                            crc.update(buffer, 0, length);
+                        }
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+
+            return crc.getValue();
+        }
+
+        private static byte[] deflate(byte[] content, int level, int strategy) {
+            Deflater deflater = new Deflater(level, true);
+
+            try {
+                deflater.setStrategy(strategy);
+                deflater.setInput(content);
+                deflater.finish();
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream(content.length);
+                byte[] buffer = new byte[Math.max(64, Math.min(content.length, 64 * 1024))];
+
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    out.write(buffer, 0, length);
+                }
+
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private static boolean isStored(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ENGLISH);
+            int extension = name.lastIndexOf('.');
+
+            return extension != -1 && STORED_EXTENSIONS.contains(name.substring(extension));
+        }
+
+        private void writeTo(ZipArchiveOutputStream out) {
+            try {
+                if (this.content != null) {
+                    out.addRawArchiveEntry(this.entry, new ByteArrayInputStream(this.content));
+                } else if (this.path == null) {
+                    out.putArchiveEntry(this.entry);
+                    out.closeArchiveEntry();
+                } else if (this.entry.getMethod() == ZipEntry.STORED) {
+                    if (Files.size(this.path) != this.entry.getSize() || !Files.getLastModifiedTime(this.path).equals(this.entry.getLastModifiedTime())) {
+                        throw new IllegalStateException(String.format("%s changed while being compressed", this.path));
+                    }
+
+                    try (InputStream in = Files.newInputStream(this.path)) {
+                        out.addRawArchiveEntry(this.entry, in);
+                    }
+                } else {
+                    try (InputStream in = Files.newInputStream(this.path)) {
+                        write(in, this.entry.getSize(), this.entry.getLastModifiedTime(), this.entry.getUnixMode(), out, this.entry.getName());
+                    }
+                }
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+
+    }
+
+    private static final class DeflatingZipArchiveOutputStream extends ZipArchiveOutputStream {
+
+        private DeflatingZipArchiveOutputStream(File file) throws IOException {
+            super(file);
+        }
+
+        private DeflatingZipArchiveOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        private void setStrategy(int strategy) {
+            this.def.setStrategy(strategy);
+        }
+
+    }
+
+    private static final class DigestingByteChannel implements WritableByteChannel {
+
+        private final WritableByteChannel delegate;
+
+        private final MessageDigest digest;
+
+        private DigestingByteChannel(WritableByteChannel delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.delegate.close();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.delegate.isOpen();
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer written = src.duplicate();
+            int length = this.delegate.write(src);
+
+            written.limit(written.position() + length);
+            this.digest.update(written);
+
+            return length;
+        }
+
+    }
+
 }
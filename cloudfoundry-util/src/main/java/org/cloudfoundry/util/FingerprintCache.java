@@ -0,0 +1,236 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import reactor.core.Exceptions;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A persistent cache of the SHA-1 hashes of files, so that files that have not changed since they were last hashed do not need to be read again.
+ * <p>
+ * Files are keyed by their absolute path and file key (the inode on UNIX file systems), and an entry is only used if the size and last modified time of the file still match and the file was
+ * last modified well before it was hashed.  A file modified shortly before it was hashed may be modified again without its last modified time changing, as file systems record that time with a
+ * granularity of up to two seconds, so it is hashed again until its entry is old enough to be trusted.  Zip entries are keyed by the archive and entry name, and validated by their size and CRC.  The cache is read from its index file when opened and written back, if it has changed, when closed.
+ */
+public final class FingerprintCache implements Closeable {
+
+    private static final int HASH_LENGTH = 20;
+
+    private static final int MAGIC = 0x43464643;
+
+    private static final int MAXIMUM_ENTRIES = 1_000_000;
+
+    private static final long MODIFICATION_GRANULARITY = TimeUnit.SECONDS.toNanos(2);
+
+    private static final int VERSION = 2;
+
+    private final Map<String, Entry> entries;
+
+    private final Path index;
+
+    private volatile boolean modified = false;
+
+    private final Map<String, Entry> used = new ConcurrentHashMap<>();
+
+    private FingerprintCache(Path index, Map<String, Entry> entries) {
+        this.entries = entries;
+        this.index = index;
+    }
+
+    /**
+     * Opens a cache, reading its entries from an index file if it exists.  An index file that cannot be read is ignored.
+     *
+     * @param index the index file
+     * @return the cache
+     */
+    public static FingerprintCache open(Path index) {
+        return new FingerprintCache(index, read(index));
+    }
+
+    /**
+     * Writes the cache to its index file if it has been modified.  Entries used since the cache was opened are retained in preference to those that were not.
+     */
+    @Override
+    public void close() {
+        if (!this.modified) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(this.index.toAbsolutePath().getParent());
+            Path staging = Files.createTempFile(this.index.toAbsolutePath().getParent(), this.index.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(staging)))) {
+                Map<String, Entry> retained = new ConcurrentHashMap<>(this.used);
+                this.entries.entrySet().stream()
+                    .limit(Math.max(0, MAXIMUM_ENTRIES - retained.size()))
+                    .forEach(entry -> retained.putIfAbsent(entry.getKey(), entry.getValue()));
+
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(retained.size());
+
+                for (Map.Entry<String, Entry> entry : retained.entrySet()) {
+                    byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+
+                    out.writeInt(key.length);
+                    out.write(key);
+                    out.writeLong(entry.getValue().size);
+                    out.writeLong(entry.getValue().version);
+                    out.writeLong(entry.getValue().hashed);
+                    out.write(entry.getValue().hash);
+                }
+            }
+
+            Files.move(staging, this.index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.modified = false;
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    /**
+     * Returns the SHA-1 hash of a file, calculating it only if the file has changed since it was last hashed
+     *
+     * @param path the file to hash
+     * @return a {@link String} representation of the hash
+     */
+    public String hash(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Object fileKey = attributes.fileKey();
+            String key = fileKey == null ? path.toAbsolutePath().toString() : String.format("%s#%s", path.toAbsolutePath(), fileKey);
+
+            long lastModified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+
+            return hash(key, attributes.size(), lastModified, lastModified, () -> FileUtils.hash(path));
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    /**
+     * Returns the SHA-1 hash of an item, calculating it only if the item has changed since it was last hashed
+     *
+     * @param key     the key identifying the item
+     * @param size    the size of the item
+     * @param version a value that changes whenever the content of the item does, such as its last modified time or checksum
+     * @param hasher  a {@link Supplier} that calculates the hash of the item
+     * @return a {@link String} representation of the hash
+     */
+    public String hash(String key, long size, long version, Supplier<String> hasher) {
+        return hash(key, size, version, Long.MIN_VALUE, hasher);
+    }
+
+    private static long now() {
+        return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    }
+
+    private static Map<String, Entry> read(Path index) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        if (!Files.isRegularFile(index)) {
+            return entries;
+        }
+
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return entries;
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+
+                long size = buffer.getLong();
+                long version = buffer.getLong();
+                long hashed = buffer.getLong();
+
+                byte[] hash = new byte[HASH_LENGTH];
+                buffer.get(hash);
+
+                entries.put(new String(key, StandardCharsets.UTF_8), new Entry(hash, hashed, size, version));
+            }
+        } catch (IOException | RuntimeException e) {
+            entries.clear();
+        }
+
+        return entries;
+    }
+
+    private static byte[] toBytes(String hex) {
+        byte[] bytes = new byte[HASH_LENGTH];
+
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            bytes[i] = (byte) ((Character.digit(hex.charAt(2 * i), 16) << 4) | Character.digit(hex.charAt(2 * i + 1), 16));
+        }
+
+        return bytes;
+    }
+
+    private String hash(String key, long size, long version, long lastModified, Supplier<String> hasher) {
+        Entry entry = this.entries.get(key);
+
+        if (entry == null || entry.size != size || entry.version != version || lastModified >= entry.hashed - MODIFICATION_GRANULARITY) {
+            long hashed = now();
+            entry = new Entry(toBytes(hasher.get()), hashed, size, version);
+            this.entries.put(key, entry);
+            this.modified = true;
+        }
+
+        this.used.put(key, entry);
+        return FileUtils.toHash(entry.hash);
+    }
+
+    private static final class Entry {
+
+        private final byte[] hash;
+
+        private final long hashed;
+
+        private final long size;
+
+        private final long version;
+
+        private Entry(byte[] hash, long hashed, long size, long version) {
+            this.hash = hash;
+            this.hashed = hashed;
+            this.size = size;
+            this.version = version;
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+/**
+ * The randomization applied to the delays of an exponential backoff
+ */
+public enum Jitter {
+
+    /**
+     * Each delay is chosen at random from the minimum to three times the previous delay, bounded by the maximum
+     */
+    DECORRELATED,
+
+    /**
+     * Each delay is chosen at random from the minimum to the exponential delay
+     */
+    FULL,
+
+    /**
+     * Each delay is exactly the exponential delay
+     */
+    NONE
+
+}
@@ -27,10 +27,14 @@ import org.cloudfoundry.client.v3.ClientV3Exception;
 import org.cloudfoundry.client.v3.Error;
 import org.cloudfoundry.client.v3.jobs.Job;
 import org.cloudfoundry.client.v3.jobs.JobState;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Function;
 
 import static org.cloudfoundry.util.DelayUtils.exponentialBackOff;
 
@@ -44,6 +48,20 @@ public final class JobUtils {
     private JobUtils() {
     }
 
+    /**
+     * Creates a {@link StatusPoller} that checks the status of many jobs on a single schedule.  The API offers no way to list jobs by id, so each poll requests the outstanding jobs with bounded
+     * concurrency.
+     *
+     * @param cloudFoundryClient the client to use to request job status
+     * @param concurrency        the maximum number of concurrent job requests per poll
+     * @return the poller
+     */
+    public static StatusPoller<String, JobEntity> poller(CloudFoundryClient cloudFoundryClient, int concurrency) {
+        return new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), jobIds -> Flux.fromIterable(jobIds)
+            .flatMap(jobId -> requestJobV2(cloudFoundryClient, jobId)
+                .map(response -> Tuples.of(jobId, response.getEntity())), concurrency), JobUtils::isComplete);
+    }
+
     /**
      * Waits for a job to complete
      *
@@ -72,9 +90,45 @@ public final class JobUtils {
             job = Mono.just(jobEntity);
         } else {
             job = requestJobV2(cloudFoundryClient, jobEntity.getId())
+                .retryWhen(retryAfter(completionTimeout))
                 .map(GetJobResponse::getEntity)
                 .filter(JobUtils::isComplete)
-                .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout));
+                .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout, Jitter.FULL));
+        }
+
+        return job
+            .filter(entity -> "failed".equals(entity.getStatus()))
+            .flatMap(JobUtils::getError);
+    }
+
+    /**
+     * Waits for a job to complete, sharing the polling of other waiting jobs
+     *
+     * @param poller            the poller to use to check job status
+     * @param completionTimeout the amount of time to wait for the job to complete.
+     * @param resource          the resource representing the job
+     * @param <R>               the Job resource type
+     * @return {@code onComplete} once job has completed
+     */
+    public static <R extends Resource<JobEntity>> Mono<Void> waitForCompletion(StatusPoller<String, JobEntity> poller, Duration completionTimeout, R resource) {
+        return waitForCompletion(poller, completionTimeout, ResourceUtils.getEntity(resource));
+    }
+
+    /**
+     * Waits for a job to complete, sharing the polling of other waiting jobs
+     *
+     * @param poller            the poller to use to check job status
+     * @param completionTimeout the amount of time to wait for the job to complete.
+     * @param jobEntity         the entity representing the job
+     * @return {@code onComplete} once job has completed
+     */
+    public static Mono<Void> waitForCompletion(StatusPoller<String, JobEntity> poller, Duration completionTimeout, JobEntity jobEntity) {
+        Mono<JobEntity> job;
+
+        if (JobUtils.isComplete(jobEntity)) {
+            job = Mono.just(jobEntity);
+        } else {
+            job = poller.waitFor(jobEntity.getId(), completionTimeout);
         }
 
         return job
@@ -92,8 +146,9 @@ public final class JobUtils {
      */
     public static Mono<Void> waitForCompletion(CloudFoundryClient cloudFoundryClient, Duration completionTimeout, String jobId) {
         return requestJobV3(cloudFoundryClient, jobId)
+            .retryWhen(retryAfter(completionTimeout))
             .filter(job -> JobState.PROCESSING != job.getState())
-            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout))
+            .repeatWhenEmpty(exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout, Jitter.FULL))
             .filter(job -> JobState.FAILED == job.getState())
             .flatMap(JobUtils::getError);
     }
@@ -127,4 +182,9 @@ public final class JobUtils {
                 .build());
     }
 
+    private static Function<Flux<Throwable>, Publisher<?>> retryAfter(Duration timeout) {
+        return errors -> DelayUtils.exponentialBackOffError(Duration.ofSeconds(1), Duration.ofSeconds(15), timeout, Jitter.FULL, ExceptionUtils::getRetryAfter)
+            .apply(errors.concatMap(t -> ExceptionUtils.getRetryAfter(t).isPresent() ? Mono.just(t) : Mono.error(t)));
+    }
+
 }
@@ -16,11 +16,18 @@
 
 package org.cloudfoundry.util;
 
+import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.client.v2.ClientV2Exception;
+import org.cloudfoundry.client.v2.serviceinstances.GetServiceInstanceRequest;
 import org.cloudfoundry.client.v2.serviceinstances.LastOperation;
+import org.cloudfoundry.client.v2.serviceinstances.ListServiceInstancesRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -33,13 +40,67 @@ public final class LastOperationUtils {
     private LastOperationUtils() {
     }
 
+    /**
+     * Creates a {@link StatusPoller} that checks the last operations of the service instances in a space.  A single outstanding service instance is checked individually and many outstanding
+     * service instances are checked with one (paginated) listing of the space's service instances.
+     *
+     * @param cloudFoundryClient the client to use to request service instances
+     * @param spaceId            the id of the space containing the service instances
+     * @return the poller
+     */
+    public static StatusPoller<String, LastOperation> poller(CloudFoundryClient cloudFoundryClient, String spaceId) {
+        return new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), serviceInstanceIds -> requestLastOperations(cloudFoundryClient, spaceId, serviceInstanceIds),
+            lastOperation -> !IN_PROGRESS.equals(lastOperation.getState()));
+    }
+
+    /**
+     * Waits for the last operation of a service instance to complete, sharing the polling of other waiting service instances
+     *
+     * @param poller            the poller to use to check last operations
+     * @param completionTimeout the amount of time to wait for the last operation to complete
+     * @param serviceInstanceId the id of the service instance
+     * @return {@code onComplete} once the last operation has completed or the service instance no longer exists
+     */
+    public static Mono<Void> waitForCompletion(StatusPoller<String, LastOperation> poller, Duration completionTimeout, String serviceInstanceId) {
+        return poller
+            .waitFor(serviceInstanceId, completionTimeout)
+            .then();
+    }
+
     public static Mono<Void> waitForCompletion(Duration completionTimeout, Supplier<Mono<LastOperation>> lastOperationSupplier) {
         return lastOperationSupplier.get()
             .map(LastOperation::getState)
             .filter(state -> !IN_PROGRESS.equals(state))
-            .repeatWhenEmpty(DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout))
+            .repeatWhenEmpty(DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), completionTimeout, Jitter.FULL))
             .onErrorResume(t -> t instanceof ClientV2Exception && ((ClientV2Exception) t).getStatusCode() == 404, t -> Mono.empty())
             .then();
     }
 
+    private static Mono<Tuple2<String, LastOperation>> requestLastOperation(CloudFoundryClient cloudFoundryClient, String serviceInstanceId) {
+        return cloudFoundryClient.serviceInstances()
+            .get(GetServiceInstanceRequest.builder()
+                .serviceInstanceId(serviceInstanceId)
+                .build())
+            .map(ResourceUtils::getEntity)
+            .filter(entity -> entity.getLastOperation() != null)
+            .map(entity -> Tuples.of(serviceInstanceId, entity.getLastOperation()))
+            .onErrorResume(t -> t instanceof ClientV2Exception && ((ClientV2Exception) t).getStatusCode() == 404, t -> Mono.empty());
+    }
+
+    private static Flux<Tuple2<String, LastOperation>> requestLastOperations(CloudFoundryClient cloudFoundryClient, String spaceId, Set<String> serviceInstanceIds) {
+        if (serviceInstanceIds.size() == 1) {
+            return requestLastOperation(cloudFoundryClient, serviceInstanceIds.iterator().next()).flux();
+        }
+
+        return PaginationUtils
+            .requestClientV2Resources(page -> cloudFoundryClient.serviceInstances()
+                .list(ListServiceInstancesRequest.builder()
+                    .page(page)
+                    .spaceId(spaceId)
+                    .build()))
+            .filter(resource -> serviceInstanceIds.contains(ResourceUtils.getId(resource)))
+            .filter(resource -> ResourceUtils.getEntity(resource).getLastOperation() != null)
+            .map(resource -> Tuples.of(ResourceUtils.getId(resource), ResourceUtils.getEntity(resource).getLastOperation()));
+    }
+
 }
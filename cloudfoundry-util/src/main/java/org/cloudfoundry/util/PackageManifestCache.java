@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import reactor.core.Exceptions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A persistent cache of the file manifests of deployed application packages, so that a push can compare an application with its deployed package without downloading the package again.
+ * <p>
+ * Each application's manifest is stored in its own file, named for the application id, together with the version of the package it describes.  A manifest is only used if the version still
+ * matches that of the deployed package.
+ */
+public final class PackageManifestCache {
+
+    private static final int MAGIC = 0x4346504d;
+
+    private static final int VERSION = 1;
+
+    private final Path directory;
+
+    private PackageManifestCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a cache
+     *
+     * @param directory the directory containing the cached manifests
+     * @return the cache
+     */
+    public static PackageManifestCache open(Path directory) {
+        return new PackageManifestCache(directory);
+    }
+
+    /**
+     * Returns the manifest of an application's package.  A manifest that cannot be read is ignored.
+     *
+     * @param applicationId  the id of the application
+     * @param packageVersion the version of the deployed package
+     * @return the manifest, or empty if no manifest is cached for that version of the package
+     */
+    public Optional<List<ResourceMatchingUtils.ArtifactMetadata>> get(String applicationId, String packageVersion) {
+        Path file = this.directory.resolve(applicationId);
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(packageVersion)) {
+                return Optional.empty();
+            }
+
+            int count = in.readInt();
+            List<ResourceMatchingUtils.ArtifactMetadata> manifest = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                manifest.add(new ResourceMatchingUtils.ArtifactMetadata(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt()));
+            }
+
+            return Optional.of(manifest);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the manifest of an application's package, replacing any manifest previously cached for the application
+     *
+     * @param applicationId  the id of the application
+     * @param packageVersion the version of the deployed package
+     * @param manifest       the manifest of the package
+     */
+    public void put(String applicationId, String packageVersion, Collection<ResourceMatchingUtils.ArtifactMetadata> manifest) {
+        try {
+            Files.createDirectories(this.directory);
+            Path staging = Files.createTempFile(this.directory, applicationId, ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(staging)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(packageVersion);
+                out.writeInt(manifest.size());
+
+                for (ResourceMatchingUtils.ArtifactMetadata artifactMetadata : manifest) {
+                    out.writeUTF(artifactMetadata.getHash());
+                    out.writeUTF(artifactMetadata.getPath());
+                    out.writeUTF(artifactMetadata.getPermissions());
+                    out.writeInt(artifactMetadata.getSize());
+                }
+            }
+
+            Files.move(staging, this.directory.resolve(applicationId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+}
@@ -16,9 +16,14 @@
 
 package org.cloudfoundry.util;
 
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.cloudfoundry.loggregator.v2.Envelope;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -28,6 +33,8 @@ import java.util.function.Function;
  */
 public final class PaginationUtils {
 
+    private static final int LOG_CACHE_MAXIMUM_LIMIT = 1_000;
+
     private PaginationUtils() {
     }
 
@@ -64,6 +71,50 @@ public final class PaginationUtils {
             .flatMapIterable(org.cloudfoundry.client.v3.PaginatedResponse::getResources);
     }
 
+    /**
+     * Generate the stream of envelopes read from Log Cache between the start and end times of a request.  The time range is split into windows that are read concurrently, each window paging
+     * through its envelopes {@code limit} at a time, and the envelopes are emitted in the order requested.  If the request does not specify both a start and an end time, the range is read as a
+     * single window.  Each page after the first starts at the last timestamp of the page before it, skipping as many envelopes with that timestamp as were already emitted, and an error is signalled
+     * if more envelopes share a single timestamp than Log Cache can return in one page.
+     *
+     * @param pageSupplier a function from {@link ReadRequest}s to {@link Mono}s of {@link ReadResponse}s.
+     * @param request      the request to read.  Its limit, if any, is used as the page size.
+     * @param window       the length of time covered by each window
+     * @param concurrency  the maximum number of windows to read concurrently
+     * @return a stream of {@link Envelope}s.
+     */
+    public static Flux<Envelope> requestLogCacheEnvelopes(Function<ReadRequest, Mono<ReadResponse>> pageSupplier, ReadRequest request, Duration window, int concurrency) {
+        boolean descending = Optional.ofNullable(request.getDescending()).orElse(false);
+        int limit = Optional.ofNullable(request.getLimit()).orElse(LOG_CACHE_MAXIMUM_LIMIT);
+
+        if (request.getStartTime() == null || request.getEndTime() == null) {
+            return requestLogCacheWindow(pageSupplier, request, descending, limit, request.getStartTime(), request.getEndTime());
+        }
+
+        long startTime = request.getStartTime();
+        long endTime = request.getEndTime();
+        long length = Math.max(1, window.toNanos());
+
+        if (startTime >= endTime) {
+            return Flux.empty();
+        }
+
+        return Flux
+            .<Long, Long>generate(() -> descending ? endTime : startTime, (boundary, sink) -> {
+                long next = descending ? Math.max(startTime, boundary - length) : Math.min(endTime, boundary + length);
+
+                sink.next(boundary);
+                if (next == (descending ? startTime : endTime)) {
+                    sink.complete();
+                }
+
+                return next;
+            })
+            .flatMapSequential(boundary -> descending ?
+                requestLogCacheWindow(pageSupplier, request, true, limit, Math.max(startTime, boundary - length), boundary) :
+                requestLogCacheWindow(pageSupplier, request, false, limit, boundary, Math.min(endTime, boundary + length)), concurrency);
+    }
+
     /**
      * Generate the stream of resources accumulated from a series of responses obtained from the page supplier.
      *
@@ -101,6 +152,53 @@ public final class PaginationUtils {
         return requestAdditionalPages(pageSupplier, response -> response.getPagination().getTotalPages());
     }
 
+    private static Flux<Envelope> requestLogCacheWindow(Function<ReadRequest, Mono<ReadResponse>> pageSupplier, ReadRequest request, boolean descending, int pageSize, Long startTime,
+                                                        Long endTime) {
+        return requestLogCacheWindow(pageSupplier, request, descending, pageSize, startTime, endTime, 0);
+    }
+
+    private static Flux<Envelope> requestLogCacheWindow(Function<ReadRequest, Mono<ReadResponse>> pageSupplier, ReadRequest request, boolean descending, int pageSize, Long startTime,
+                                                        Long endTime, int emitted) {
+        Long boundary = emitted == 0 ? null : descending ? endTime - 1 : startTime;
+        int limit = Math.min(LOG_CACHE_MAXIMUM_LIMIT, emitted + pageSize);
+
+        return pageSupplier
+            .apply(ReadRequest.builder()
+                .from(request)
+                .descending(descending)
+                .endTime(endTime)
+                .limit(limit)
+                .startTime(startTime)
+                .build())
+            .flatMapMany(response -> {
+                List<Envelope> envelopes = response.getEnvelopes().getBatch();
+                int duplicates = (int) envelopes.stream()
+                    .limit(emitted)
+                    .filter(envelope -> boundary.equals(envelope.getTimestamp()))
+                    .count();
+                Flux<Envelope> page = Flux.fromIterable(envelopes.subList(duplicates, envelopes.size()));
+
+                if (envelopes.size() < limit) {
+                    return page;
+                }
+
+                Long last = envelopes.get(envelopes.size() - 1).getTimestamp();
+                int atLast = (int) envelopes.stream()
+                    .filter(envelope -> last.equals(envelope.getTimestamp()))
+                    .count();
+
+                if (atLast >= LOG_CACHE_MAXIMUM_LIMIT) {
+                    return page
+                        .concatWith(Flux.error(new IllegalStateException(String.format("More than %d envelopes share the timestamp %d", LOG_CACHE_MAXIMUM_LIMIT, last))));
+                }
+
+                return page
+                    .concatWith(descending ?
+                        requestLogCacheWindow(pageSupplier, request, true, pageSize, startTime, last + 1, atLast) :
+                        requestLogCacheWindow(pageSupplier, request, false, pageSize, last, endTime, atLast));
+            });
+    }
+
     private static <T extends org.cloudfoundry.uaa.PaginatedResponse<?>> Function<T, Flux<T>> requestUaaAdditionalPages(Function<Integer, Mono<T>> pageSupplier) {
         return response -> {
             Integer totalPages = (response.getTotalResults() - 1) / response.getItemsPerPage() + 1;
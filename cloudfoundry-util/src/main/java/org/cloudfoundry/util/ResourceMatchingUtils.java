@@ -33,10 +33,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utilities for matching resources
@@ -45,15 +48,57 @@ public final class ResourceMatchingUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.resource-matching");
 
+    private static final int MATCH_BATCH_SIZE = 1_000;
+
+    private static final int MATCH_CONCURRENCY = 4;
+
+    private static final int MAXIMUM_MATCHABLE_SIZE = 512 * 1_024 * 1_024;
+
+    private static final int MINIMUM_MATCHABLE_SIZE = 64 * 1_024;
+
     private ResourceMatchingUtils() {
     }
 
+    /**
+     * Calculates the metadata of each file in an application.  Files are hashed in parallel, and their metadata is emitted as soon as it is calculated, in no particular order.
+     *
+     * @param application the application directory or archive
+     * @return the metadata of each file in the application
+     */
+    public static Flux<ArtifactMetadata> getArtifactMetadata(Path application) {
+        return getArtifactMetadata(application, null);
+    }
+
+    /**
+     * Calculates the metadata of each file in an application, reusing the hashes of files that have not changed since they were recorded in a {@link FingerprintCache}.  Files are hashed in
+     * parallel, and their metadata is emitted as soon as it is calculated, in no particular order.
+     *
+     * @param application      the application directory or archive
+     * @param fingerprintCache the cache of file hashes.  If {@code null}, every file is hashed.
+     * @return the metadata of each file in the application
+     */
+    public static Flux<ArtifactMetadata> getArtifactMetadata(Path application, FingerprintCache fingerprintCache) {
+        return Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application, fingerprintCache) : getArtifactMetadataFromZip(application, fingerprintCache);
+    }
+
     public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application) {
-        return (Files.isDirectory(application) ? getArtifactMetadataFromDirectory(application) : getArtifactMetadataFromZip(application))
-            .collectMap(ArtifactMetadata::getHash)
-            .flatMapMany(artifactMetadatas -> requestListMatchingResources(cloudFoundryClient, artifactMetadatas.values())
-                .flatMapIterable(ListMatchingResourcesResponse::getResources)
-                .map(resource -> artifactMetadatas.get(resource.getHash())))
+        return getMatchedResources(cloudFoundryClient, application, null);
+    }
+
+    /**
+     * Finds the files in an application that the Cloud Controller already has in its resource cache.  Files are matched in batches, which are sent concurrently while the remaining files are
+     * still being hashed.  Files outside the size range that the Cloud Controller caches by default (64 KiB to 512 MiB) are never matched and are not sent.
+     *
+     * @param cloudFoundryClient the client to match resources with
+     * @param application        the application directory or archive
+     * @param fingerprintCache   the cache of file hashes.  If {@code null}, every file is hashed.
+     * @return the metadata of each matched file
+     */
+    public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Path application, FingerprintCache fingerprintCache) {
+        return getArtifactMetadata(application, fingerprintCache)
+            .filter(ResourceMatchingUtils::isMatchable)
+            .buffer(MATCH_BATCH_SIZE)
+            .flatMap(artifactMetadatas -> requestMatchedResources(cloudFoundryClient, artifactMetadatas), MATCH_CONCURRENCY)
             .collectList()
             .doOnNext(matched -> LOGGER.debug("{} resources matched totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
                 .mapToInt(ArtifactMetadata::getSize)
@@ -61,45 +106,83 @@ public final class ResourceMatchingUtils {
             .subscribeOn(Schedulers.elastic());
     }
 
-    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application) {
+    /**
+     * Finds the files in an application that the Cloud Controller already has in its resource cache, given the manifest of the application's deployed package.  Matchable files whose hashes
+     * appear in the deployed package were added to the resource cache when that package was uploaded, so they are treated as matched without asking the Cloud Controller.  The remaining files
+     * are matched as usual.
+     *
+     * @param cloudFoundryClient the client to match resources with
+     * @param artifactMetadatas  the metadata of each file in the application
+     * @param deployed           the metadata of each file in the deployed package
+     * @return the metadata of each matched file
+     */
+    public static Mono<List<ArtifactMetadata>> getMatchedResources(CloudFoundryClient cloudFoundryClient, Collection<ArtifactMetadata> artifactMetadatas, Collection<ArtifactMetadata> deployed) {
+        Set<String> deployedHashes = deployed.stream()
+            .map(ArtifactMetadata::getHash)
+            .collect(Collectors.toSet());
+
+        return Flux.fromIterable(artifactMetadatas)
+            .filter(ResourceMatchingUtils::isMatchable)
+            .filter(artifactMetadata -> !deployedHashes.contains(artifactMetadata.getHash()))
+            .buffer(MATCH_BATCH_SIZE)
+            .flatMap(batch -> requestMatchedResources(cloudFoundryClient, batch), MATCH_CONCURRENCY)
+            .concatWith(Flux.fromIterable(artifactMetadatas)
+                .filter(ResourceMatchingUtils::isMatchable)
+                .filter(artifactMetadata -> deployedHashes.contains(artifactMetadata.getHash())))
+            .collectList()
+            .doOnNext(matched -> LOGGER.debug("{} resources matched against deployed package totaling {}", matched.size(), SizeUtils.asIbi(matched.stream()
+                .mapToInt(ArtifactMetadata::getSize)
+                .sum())));
+    }
+
+    private static Flux<ArtifactMetadata> getArtifactMetadataFromDirectory(Path application, FingerprintCache fingerprintCache) {
         return Flux
-            .defer(() -> {
-                try {
-                    return Flux.fromStream(Files.walk(application));
-                } catch (IOException e) {
-                    throw Exceptions.propagate(e);
-                }
-            })
+            .using(() -> Files.walk(application), Flux::fromStream, Stream::close)
             .filter(path -> !Files.isDirectory(path))
-            .map(path -> new ArtifactMetadata(FileUtils.hash(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)));
+            .parallel()
+            .runOn(Schedulers.elastic(), 1)
+            .map(path -> new ArtifactMetadata(fingerprintCache == null ? FileUtils.hash(path) : fingerprintCache.hash(path), FileUtils.getRelativePathName(application, path), FileUtils.permissions(path), FileUtils.size(path)))
+            .sequential();
     }
 
-    private static Flux<ArtifactMetadata> getArtifactMetadataFromZip(Path application) {
-        List<ArtifactMetadata> artifactMetadatas = new ArrayList<>();
-
-        try (ZipFile zipFile = new ZipFile(application.toFile())) {
-            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
-
-            while (entries.hasMoreElements()) {
-                ZipArchiveEntry entry = entries.nextElement();
+    private static Flux<ArtifactMetadata> getArtifactMetadataFromZip(Path application, FingerprintCache fingerprintCache) {
+        return Flux
+            .using(() -> new ZipFile(application.toFile()), zipFile -> Flux
+                    .fromIterable(Collections.list(zipFile.getEntries()))
+                    .filter(entry -> !entry.isDirectory())
+                    .parallel()
+                    .runOn(Schedulers.elastic(), 1)
+                    .map(entry -> getArtifactMetadataFromZipEntry(application, fingerprintCache, zipFile, entry))
+                    .sequential(),
+                zipFile -> {
+                    try {
+                        zipFile.close();
+                    } catch (IOException e) {
+                        throw Exceptions.propagate(e);
+                    }
+                });
+    }
 
-                if (!entry.isDirectory()) {
-                    try (InputStream in = zipFile.getInputStream(entry)) {
-                        String hash = FileUtils.hash(in);
-                        String path = entry.getName();
-                        String permissions = FileUtils.permissions(entry.getUnixMode());
-                        int size = (int) entry.getSize();
+    private static ArtifactMetadata getArtifactMetadataFromZipEntry(Path application, FingerprintCache fingerprintCache, ZipFile zipFile, ZipArchiveEntry entry) {
+        String hash = fingerprintCache == null || entry.getCrc() == -1 ? hashZipEntry(zipFile, entry) :
+            fingerprintCache.hash(String.format("%s!/%s", application.toAbsolutePath(), entry.getName()), entry.getSize(), entry.getCrc(), () -> hashZipEntry(zipFile, entry));
+        String path = entry.getName();
+        String permissions = FileUtils.permissions(entry.getUnixMode());
+        int size = (int) entry.getSize();
 
-                        artifactMetadatas.add(new ArtifactMetadata(hash, path, permissions, size));
-                    }
+        return new ArtifactMetadata(hash, path, permissions, size);
+    }
 
-                }
-            }
+    private static String hashZipEntry(ZipFile zipFile, ZipArchiveEntry entry) {
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            return FileUtils.hash(in, entry.getSize());
         } catch (IOException e) {
             throw Exceptions.propagate(e);
         }
+    }
 
-        return Flux.fromIterable(artifactMetadatas);
+    private static boolean isMatchable(ArtifactMetadata artifactMetadata) {
+        return artifactMetadata.getSize() >= MINIMUM_MATCHABLE_SIZE && artifactMetadata.getSize() <= MAXIMUM_MATCHABLE_SIZE;
     }
 
     private static Mono<ListMatchingResourcesResponse> requestListMatchingResources(CloudFoundryClient cloudFoundryClient, Collection<ArtifactMetadata> artifactMetadatas) {
@@ -115,6 +198,17 @@ public final class ResourceMatchingUtils {
             .list(request);
     }
 
+    private static Flux<ArtifactMetadata> requestMatchedResources(CloudFoundryClient cloudFoundryClient, List<ArtifactMetadata> artifactMetadatas) {
+        Map<String, List<ArtifactMetadata>> artifactMetadatasByHash = artifactMetadatas.stream()
+            .collect(Collectors.groupingBy(ArtifactMetadata::getHash));
+
+        return requestListMatchingResources(cloudFoundryClient, artifactMetadatasByHash.values().stream()
+            .map(duplicates -> duplicates.get(0))
+            .collect(Collectors.toList()))
+            .flatMapIterable(ListMatchingResourcesResponse::getResources)
+            .flatMapIterable(resource -> artifactMetadatasByHash.getOrDefault(resource.getHash(), Collections.emptyList()));
+    }
+
     /**
      * Metadata information about a given artifact
      */
@@ -24,20 +24,51 @@ import reactor.util.function.Tuple2;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * Utilities for sorting
  */
 public final class SortingUtils {
 
+    private static final Object TICK = new Object();
+
+    private static final int TICKS_PER_WINDOW = 4;
+
     private SortingUtils() {
     }
 
+    /**
+     * Sorts the elements of a {@link Flux} that is composed of several partitions, each of which is already (roughly) sorted.  This sorter performs a k-way merge across the partitions: the earliest
+     * element is released only while every partition seen so far has an element buffered, so that a lagging partition holds back the others.  If the buffer grows beyond its maximum size, the
+     * earliest element is released regardless, and the output is then only approximately sorted.  Partitions are discovered as their first element arrives, so an element of a partition that has
+     * not yet been seen may follow later elements of other partitions.
+     *
+     * @param partition   a function extracting the partition key of an element
+     * @param comparator  a {@link Comparator} to use when sorting the elements
+     * @param maximumSize the maximum number of elements to buffer before releasing the earliest of them even if a partition has no element buffered
+     * @param <T>         The type of the elements to be sorted
+     * @return a {@link Flux} providing the sorted elements
+     */
+    public static <T> Function<Flux<T>, Flux<T>> partitioned(Function<T, ?> partition, Comparator<T> comparator, int maximumSize) {
+        return source -> Flux
+            .defer(() -> {
+                PartitionedBuffer<T> buffer = new PartitionedBuffer<>(partition, comparator, maximumSize);
+
+                return source
+                    .concatMapIterable(buffer::offer)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(buffer.drain())));
+            });
+    }
+
     /**
      * Sorts the elements of a {@link Flux} within a sliding time window.  This sorter should be used when element order may be scrambled, but that scrambling has a certain 'temporal locality' to it.
      * This assumption means that sorting can be limited to elements that arrive temporally close to one another without risking a latecomer being sorted incorrectly.
@@ -71,6 +102,37 @@ public final class SortingUtils {
         };
     }
 
+    /**
+     * Sorts the elements of a {@link Flux} using event-time watermarks.  The watermark trails the largest timestamp seen so far by the allowed out-of-orderness, and elements are released, in
+     * timestamp order, as soon as the watermark passes them or the buffer grows beyond its maximum size.  If no elements arrive for the duration of the out-of-orderness, the buffer is flushed.
+     * <p>
+     * Unlike {@link #timespan(Comparator, Duration)}, elements are never held for a fixed amount of time and no lock is taken; all buffer access happens within the serialized signals of the
+     * returned {@link Flux}.
+     *
+     * @param timestamp      a function extracting the event time of an element, in nanoseconds
+     * @param outOfOrderness the maximum amount by which the event times of elements are expected to be out of order
+     * @param maximumSize    the maximum number of elements to buffer before releasing the earliest of them
+     * @param <T>            The type of the elements to be sorted
+     * @return a {@link Flux} providing the sorted elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<Flux<T>, Flux<T>> watermark(ToLongFunction<T> timestamp, Duration outOfOrderness, int maximumSize) {
+        Duration tick = outOfOrderness.dividedBy(TICKS_PER_WINDOW);
+
+        return source -> Flux
+            .defer(() -> {
+                WatermarkBuffer<T> buffer = new WatermarkBuffer<>(timestamp, outOfOrderness.toNanos(), maximumSize);
+
+                return source
+                    .publish(shared -> Flux.<Object>merge(shared, Flux.interval(tick)
+                        .onBackpressureDrop()
+                        .map(n -> TICK)
+                        .takeUntilOther(shared.then())))
+                    .concatMapIterable(signal -> TICK == signal ? buffer.tick() : buffer.offer((T) signal))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(buffer.drain())));
+            });
+    }
+
     private static <T> Flux<T> getItems(Queue<Tuple2<Long, T>> accumulator, Object monitor, Duration timespan) {
         List<T> items = new ArrayList<>();
 
@@ -87,4 +149,168 @@ public final class SortingUtils {
         return candidate != null && (Duration.ZERO == timespan || Instant.ofEpochMilli(candidate.getT1()).isBefore(Instant.now().minus(timespan)));
     }
 
+    private static final class PartitionedBuffer<T> {
+
+        private final Comparator<T> comparator;
+
+        private final Queue<Queue<T>> heads;
+
+        private final int maximumSize;
+
+        private final Function<T, ?> partition;
+
+        private final Map<Object, Queue<T>> partitions = new HashMap<>();
+
+        private int empty = 0;
+
+        private int size = 0;
+
+        private PartitionedBuffer(Function<T, ?> partition, Comparator<T> comparator, int maximumSize) {
+            this.comparator = comparator;
+            this.heads = new PriorityQueue<>((o1, o2) -> comparator.compare(o1.peek(), o2.peek()));
+            this.maximumSize = maximumSize;
+            this.partition = partition;
+        }
+
+        private List<T> drain() {
+            List<T> items = new ArrayList<>(this.size);
+            while (this.size > 0) {
+                items.add(next());
+            }
+
+            return items;
+        }
+
+        private T next() {
+            Queue<T> candidate = this.heads.remove();
+            T item = candidate.remove();
+
+            if (candidate.isEmpty()) {
+                this.empty++;
+            } else {
+                this.heads.add(candidate);
+            }
+
+            this.size--;
+            return item;
+        }
+
+        private List<T> offer(T item) {
+            Object key = this.partition.apply(item);
+            Queue<T> candidate = this.partitions.get(key);
+
+            if (candidate == null) {
+                candidate = new PriorityQueue<>(this.comparator);
+                this.partitions.put(key, candidate);
+            } else if (candidate.isEmpty()) {
+                this.empty--;
+            }
+
+            if (candidate.isEmpty()) {
+                candidate.add(item);
+                this.heads.add(candidate);
+            } else if (this.comparator.compare(item, candidate.peek()) < 0) {
+                this.heads.remove(candidate);
+                candidate.add(item);
+                this.heads.add(candidate);
+            } else {
+                candidate.add(item);
+            }
+
+            this.size++;
+            return release();
+        }
+
+        private List<T> release() {
+            if (this.empty > 0 && this.size <= this.maximumSize) {
+                return Collections.emptyList();
+            }
+
+            List<T> items = new ArrayList<>();
+            while (this.size > 0 && (this.empty == 0 || this.size > this.maximumSize)) {
+                items.add(next());
+            }
+
+            return items;
+        }
+
+    }
+
+    private static final class WatermarkBuffer<T> {
+
+        private final long maximumSize;
+
+        private final long outOfOrderness;
+
+        private final Queue<WatermarkEntry<T>> queue = new PriorityQueue<>();
+
+        private final ToLongFunction<T> timestamp;
+
+        private int idleTicks = 0;
+
+        private long maximumTimestamp = Long.MIN_VALUE;
+
+        private long sequence = 0;
+
+        private WatermarkBuffer(ToLongFunction<T> timestamp, long outOfOrderness, int maximumSize) {
+            this.maximumSize = maximumSize;
+            this.outOfOrderness = outOfOrderness;
+            this.timestamp = timestamp;
+        }
+
+        private List<T> drain() {
+            return release(Long.MAX_VALUE);
+        }
+
+        private List<T> offer(T item) {
+            long candidate = this.timestamp.applyAsLong(item);
+
+            this.idleTicks = 0;
+            this.maximumTimestamp = Math.max(this.maximumTimestamp, candidate);
+            this.queue.add(new WatermarkEntry<>(candidate, this.sequence++, item));
+
+            return release(this.maximumTimestamp - this.outOfOrderness);
+        }
+
+        private List<T> release(long watermark) {
+            if (this.queue.isEmpty() || (this.queue.peek().timestamp > watermark && this.queue.size() <= this.maximumSize)) {
+                return Collections.emptyList();
+            }
+
+            List<T> items = new ArrayList<>();
+            while (!this.queue.isEmpty() && (this.queue.peek().timestamp <= watermark || this.queue.size() > this.maximumSize)) {
+                items.add(this.queue.remove().value);
+            }
+
+            return items;
+        }
+
+        private List<T> tick() {
+            return ++this.idleTicks < TICKS_PER_WINDOW ? Collections.emptyList() : drain();
+        }
+
+    }
+
+    private static final class WatermarkEntry<T> implements Comparable<WatermarkEntry<T>> {
+
+        private final long sequence;
+
+        private final long timestamp;
+
+        private final T value;
+
+        private WatermarkEntry(long timestamp, long sequence, T value) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(WatermarkEntry<T> other) {
+            int result = Long.compare(this.timestamp, other.timestamp);
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+
+    }
+
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Polls the status of many resources on a single, shared schedule.  Each poll passes every outstanding key to a batch fetcher and completes the waiters of each key whose fetched status is
+ * complete.  Keys that the fetcher does not return are considered to no longer exist and their waiters complete empty.  A failed poll is retried on the next tick.  The delay between polls
+ * backs off exponentially while waiters are outstanding and is reset once none are.  A new key cuts a pending delay longer than the minimum short to the minimum, so that it is polled soon
+ * without resetting the backoff of the keys already waiting, and keys that arrive within that window are polled together.
+ *
+ * @param <K> the type of the keys identifying the polled resources
+ * @param <V> the type of the polled statuses
+ */
+public final class StatusPoller<K, V> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.poller");
+
+    private final Function<Set<K>, Flux<Tuple2<K, V>>> fetcher;
+
+    private final Predicate<V> isComplete;
+
+    private final Duration maximum;
+
+    private final Duration minimum;
+
+    private final Object monitor = new Object();
+
+    private final Map<K, List<MonoSink<V>>> waiters = new HashMap<>();
+
+    private Duration delay;
+
+    private long deadline;
+
+    private Disposable delayed;
+
+    private long generation;
+
+    private boolean scheduled;
+
+    private boolean waiting;
+
+    /**
+     * Creates a new instance
+     *
+     * @param minimum    the minimum delay between polls
+     * @param maximum    the maximum delay between polls
+     * @param fetcher    a function that fetches the current statuses of a set of keys
+     * @param isComplete a predicate that tests whether a status is complete
+     */
+    public StatusPoller(Duration minimum, Duration maximum, Function<Set<K>, Flux<Tuple2<K, V>>> fetcher, Predicate<V> isComplete) {
+        this.delay = minimum;
+        this.fetcher = fetcher;
+        this.isComplete = isComplete;
+        this.maximum = maximum;
+        this.minimum = minimum;
+    }
+
+    /**
+     * Waits for the status of a resource to be complete
+     *
+     * @param key     the key identifying the resource
+     * @param timeout the maximum amount of time to wait for
+     * @return the complete status, or empty if the resource no longer exists.  Fails with a {@link DelayTimeoutException} if the timeout elapses first.
+     */
+    public Mono<V> waitFor(K key, Duration timeout) {
+        return Mono
+            .<V>create(sink -> {
+                sink.onDispose(() -> unregister(key, sink));
+                register(key, sink);
+            })
+            .timeout(timeout, Mono.error(new DelayTimeoutException()));
+    }
+
+    int size() {
+        synchronized (this.monitor) {
+            return this.waiters.size();
+        }
+    }
+
+    private static long now() {
+        return Schedulers.parallel().now(TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(K key, V status) {
+        List<MonoSink<V>> sinks;
+
+        synchronized (this.monitor) {
+            sinks = this.waiters.remove(key);
+        }
+
+        if (sinks == null) {
+            return;
+        }
+
+        for (MonoSink<V> sink : sinks) {
+            if (status == null) {
+                sink.success();
+            } else {
+                sink.success(status);
+            }
+        }
+    }
+
+    private void onTick(long generation) {
+        synchronized (this.monitor) {
+            if (!this.waiting || this.generation != generation) {
+                return;
+            }
+
+            this.delayed = null;
+            this.waiting = false;
+        }
+
+        pollAndReschedule();
+    }
+
+    private Mono<Void> poll() {
+        Set<K> keys;
+
+        synchronized (this.monitor) {
+            keys = new HashSet<>(this.waiters.keySet());
+        }
+
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Set<K> missing = Collections.synchronizedSet(new HashSet<>(keys));
+
+        return this.fetcher.apply(Collections.unmodifiableSet(keys))
+            .filter(result -> keys.contains(result.getT1()))
+            .doOnNext(result -> {
+                missing.remove(result.getT1());
+
+                if (this.isComplete.test(result.getT2())) {
+                    complete(result.getT1(), result.getT2());
+                }
+            })
+            .then(Mono.fromRunnable(() -> new ArrayList<>(missing).forEach(key -> complete(key, null))))
+            .onErrorResume(t -> {
+                LOGGER.debug("Polling {} statuses failed, retrying", keys.size(), t);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void pollAndReschedule() {
+        Mono.defer(this::poll)
+            .doFinally(signal -> reschedule())
+            .subscribe();
+    }
+
+    private void register(K key, MonoSink<V> sink) {
+        Disposable cancelled = null;
+        boolean cut = false;
+        boolean start = false;
+
+        synchronized (this.monitor) {
+            boolean newKey = !this.waiters.containsKey(key);
+            this.waiters.computeIfAbsent(key, k -> new ArrayList<>()).add(sink);
+
+            if (!this.scheduled) {
+                this.scheduled = true;
+                start = true;
+            } else if (newKey && this.waiting && this.deadline - now() > this.minimum.toMillis()) {
+                cancelled = this.delayed;
+                this.delayed = null;
+                cut = true;
+            }
+        }
+
+        if (cancelled != null) {
+            cancelled.dispose();
+        }
+
+        if (start) {
+            pollAndReschedule();
+        } else if (cut) {
+            schedule(this.minimum);
+        }
+    }
+
+    private void reschedule() {
+        Duration next;
+
+        synchronized (this.monitor) {
+            if (this.waiters.isEmpty()) {
+                this.delay = this.minimum;
+                this.scheduled = false;
+                return;
+            }
+
+            next = this.delay;
+            this.delay = this.delay.multipliedBy(2).compareTo(this.maximum) <= 0 ? this.delay.multipliedBy(2) : this.maximum;
+        }
+
+        schedule(next);
+    }
+
+    private void schedule(Duration next) {
+        long generation;
+
+        synchronized (this.monitor) {
+            generation = ++this.generation;
+            this.deadline = now() + next.toMillis();
+            this.waiting = true;
+        }
+
+        Disposable delayed = Mono.delay(next)
+            .subscribe(tick -> onTick(generation));
+
+        synchronized (this.monitor) {
+            if (this.waiting && this.generation == generation) {
+                this.delayed = delayed;
+                return;
+            }
+        }
+
+        delayed.dispose();
+    }
+
+    private void unregister(K key, MonoSink<V> sink) {
+        synchronized (this.monitor) {
+            List<MonoSink<V>> sinks = this.waiters.get(key);
+
+            if (sinks == null) {
+                return;
+            }
+
+            sinks.remove(sink);
+            if (sinks.isEmpty()) {
+                this.waiters.remove(key);
+            }
+        }
+    }
+
+}
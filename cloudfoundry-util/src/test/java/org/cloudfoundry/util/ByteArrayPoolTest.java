@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ByteArrayPoolTest {
+
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor();
+
+    private final ByteArrayPool pool = new ByteArrayPool(1_024 * 1_024, Duration.ofMinutes(1), this.evictor);
+
+    @Test
+    public void evict() {
+        this.pool.doWithByteArray(1, buffer -> {
+        });
+
+        this.pool.evict();
+        assertThat(this.pool.getStatistics().getRetainedBytes()).isEqualTo(8 * 1_024);
+
+        this.pool.evict();
+        assertThat(this.pool.getStatistics().getRetainedBytes()).isZero();
+    }
+
+    @Test
+    public void maximumRetained() {
+        this.pool.doWithByteArray(-1, outer -> this.pool.doWithByteArray(-1, inner -> {
+        }));
+
+        assertThat(this.pool.getStatistics().getRetainedBytes()).isEqualTo(1_024 * 1_024);
+    }
+
+    @Test
+    public void reuse() {
+        AtomicReference<byte[]> first = new AtomicReference<>();
+        AtomicReference<byte[]> second = new AtomicReference<>();
+
+        this.pool.doWithByteArray(100, first::set);
+        this.pool.doWithByteArray(100, second::set);
+
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(this.pool.getStatistics().getHits()).isEqualTo(1);
+        assertThat(this.pool.getStatistics().getMisses()).isEqualTo(1);
+        assertThat(this.pool.getStatistics().getHitRate()).isEqualTo(0.5);
+    }
+
+    @After
+    public void shutdown() {
+        this.evictor.shutdownNow();
+    }
+
+    @Test
+    public void sizeClasses() {
+        assertThat(getLength(0)).isEqualTo(8 * 1_024);
+        assertThat(getLength(8 * 1_024)).isEqualTo(8 * 1_024);
+        assertThat(getLength(8 * 1_024 + 1)).isEqualTo(64 * 1_024);
+        assertThat(getLength(10L * 1_024 * 1_024)).isEqualTo(1_024 * 1_024);
+        assertThat(getLength(-1)).isEqualTo(1_024 * 1_024);
+    }
+
+    private int getLength(long size) {
+        AtomicReference<byte[]> buffer = new AtomicReference<>();
+        this.pool.doWithByteArray(size, buffer::set);
+
+        return buffer.get().length;
+    }
+
+}
@@ -18,12 +18,19 @@ package org.cloudfoundry.util;
 
 import org.junit.Test;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 public final class DelayUtilsTest {
 
@@ -42,6 +49,17 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffClampsToTimeout() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOff(Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(3), Jitter.NONE)
+            .apply(Flux.just(1L)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(3)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void exponentialBackOffError() {
@@ -72,6 +90,20 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffErrorRetryAfter() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOffError(Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), Jitter.NONE,
+            t -> Optional.of(Duration.ofSeconds(5)))
+            .apply(Flux.just(new RuntimeException())))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofSeconds(4))
+            .thenAwait(Duration.ofSeconds(1))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void exponentialBackOffErrorTimeout() {
         StepVerifier.create(DelayUtils.exponentialBackOffError(Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(100))
@@ -81,6 +113,28 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    public void exponentialBackOffJitterMinimum() {
+        Instant finish = Instant.now().plus(Duration.ofHours(1));
+
+        for (Jitter jitter : Jitter.values()) {
+            for (int client = 0; client < 1_000; client++) {
+                DelayUtils.BackOff backOff = new DelayUtils.BackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), finish, jitter);
+
+                for (long iteration = 0; iteration < 4; iteration++) {
+                    assertThat(backOff.next(iteration, Optional.empty())).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void exponentialBackOffJitterSpreadsLoad() {
+        assertThat(getMaximumConcurrentAttempts(Jitter.NONE)).isEqualTo(1_000);
+        assertThat(getMaximumConcurrentAttempts(Jitter.FULL)).isLessThan(250);
+        assertThat(getMaximumConcurrentAttempts(Jitter.DECORRELATED)).isLessThan(250);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void exponentialBackOffMaximum() {
@@ -96,6 +150,32 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffSignal() {
+        DirectProcessor<String> signals = DirectProcessor.create();
+
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5), signals)
+            .apply(Flux.just(1L, 2L)))
+            .then(() -> signals.onNext("test-signal"))
+            .expectNext(0L)
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(4)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exponentialBackOffSignalError() {
+        StepVerifier.withVirtualTime(() -> (Publisher<Long>) DelayUtils.exponentialBackOff(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5), Flux.error(new RuntimeException()))
+            .apply(Flux.just(1L)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(2)))
+            .expectNext(0L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     @Test
     public void exponentialBackOffTimeout() {
         StepVerifier.create(DelayUtils.exponentialBackOff(Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(100))
@@ -132,4 +212,28 @@ public final class DelayUtilsTest {
             .verify(Duration.ofSeconds(5));
     }
 
+    /**
+     * Simulates 1,000 clients that start polling at the same moment and returns the largest number of fifth attempts that land in the same second
+     */
+    private static int getMaximumConcurrentAttempts(Jitter jitter) {
+        Instant finish = Instant.now().plus(Duration.ofHours(1));
+        Map<Long, Integer> attempts = new HashMap<>();
+
+        for (int client = 0; client < 1_000; client++) {
+            DelayUtils.BackOff backOff = new DelayUtils.BackOff(Duration.ofSeconds(1), Duration.ofSeconds(15), finish, jitter);
+
+            Duration elapsed = Duration.ZERO;
+            for (long iteration = 0; iteration < 4; iteration++) {
+                elapsed = elapsed.plus(backOff.next(iteration, Optional.empty()));
+            }
+
+            attempts.merge(elapsed.getSeconds(), 1, Integer::sum);
+        }
+
+        return attempts.values().stream()
+            .mapToInt(Integer::intValue)
+            .max()
+            .orElse(0);
+    }
+
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FileUtilsTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compress() throws IOException {
+        Path application = createApplication();
+        Path archive = this.folder.getRoot().toPath().resolve("application.zip");
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            FileUtils.compress(application, path -> !path.equals("filtered.txt"), out);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertThat(zipFile.getEntry("filtered.txt")).isNull();
+            assertThat(zipFile.getEntry("directory/")).isNotNull();
+
+            assertEntry(zipFile, application, "directory/large.txt", ZipEntry.DEFLATED);
+            assertEntry(zipFile, application, "directory/library.jar", ZipEntry.STORED);
+            assertEntry(zipFile, application, "random.bin", ZipEntry.STORED);
+            assertEntry(zipFile, application, "small.txt", ZipEntry.DEFLATED);
+        }
+    }
+
+    @Test
+    public void compressArchive() throws IOException {
+        Path source = createArchive();
+        Path archive = this.folder.getRoot().toPath().resolve("application.zip");
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            FileUtils.compress(source, path -> !path.equals("filtered.txt"), out);
+        }
+
+        try (ZipFile sourceFile = new ZipFile(source.toFile()); ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertThat(zipFile.getEntry("filtered.txt")).isNull();
+
+            assertRawCopy(sourceFile, zipFile, "large.txt");
+            assertRawCopy(sourceFile, zipFile, "library.jar");
+        }
+    }
+
+    @Test
+    public void compressNoCompression() throws IOException {
+        Path application = createApplication();
+        Path archive = this.folder.getRoot().toPath().resolve("application.zip");
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            FileUtils.compress(application, path -> true, Deflater.NO_COMPRESSION, out);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertEntry(zipFile, application, "directory/large.txt", ZipEntry.STORED);
+            assertEntry(zipFile, application, "filtered.txt", ZipEntry.STORED);
+            assertEntry(zipFile, application, "small.txt", ZipEntry.STORED);
+        }
+    }
+
+    @Test
+    public void compressStrategy() throws IOException {
+        Path application = createApplication();
+        Path archive = this.folder.getRoot().toPath().resolve("application.zip");
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            FileUtils.compress(application, path -> true, Deflater.BEST_SPEED, Deflater.HUFFMAN_ONLY, out);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertEntry(zipFile, application, "directory/large.txt", ZipEntry.DEFLATED);
+            assertEntry(zipFile, application, "directory/library.jar", ZipEntry.STORED);
+            assertEntry(zipFile, application, "small.txt", ZipEntry.DEFLATED);
+        }
+    }
+
+    @Test
+    public void hashes() throws IOException, NoSuchAlgorithmException {
+        assertHashes(random(100_000));
+    }
+
+    @Test
+    public void hashesMapped() throws IOException, NoSuchAlgorithmException {
+        assertHashes(random(3 * 1_024 * 1_024));
+    }
+
+    @Test
+    public void writeToFile() throws IOException, NoSuchAlgorithmException {
+        byte[] content = random(100_000);
+        Path file = this.folder.getRoot().toPath().resolve("download.bin");
+
+        FileUtils
+            .writeToFile(file, sha256(content), channel -> write(channel, content))
+            .as(StepVerifier::create)
+            .expectNext(file)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+    }
+
+    @Test
+    public void writeToFileInvalidHash() throws IOException, NoSuchAlgorithmException {
+        byte[] content = random(100_000);
+        Path file = this.folder.getRoot().toPath().resolve("download.bin");
+
+        FileUtils
+            .writeToFile(file, sha256(new byte[0]), channel -> write(channel, content))
+            .as(StepVerifier::create)
+            .expectErrorMatches(t -> t instanceof IllegalStateException && t.getMessage().startsWith("SHA-256 of"))
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(file).doesNotExist();
+    }
+
+    private static void assertEntry(ZipFile zipFile, Path application, String name, int method) throws IOException {
+        ZipArchiveEntry entry = zipFile.getEntry(name);
+        assertThat(entry).as(name).isNotNull();
+        assertThat(entry.getMethod()).as(name).isEqualTo(method);
+
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            assertThat(in).as(name).hasSameContentAs(Files.newInputStream(application.resolve(name)));
+        }
+    }
+
+    private static void assertRawCopy(ZipFile sourceFile, ZipFile zipFile, String name) throws IOException {
+        ZipArchiveEntry sourceEntry = sourceFile.getEntry(name);
+        ZipArchiveEntry entry = zipFile.getEntry(name);
+        assertThat(entry).as(name).isNotNull();
+        assertThat(entry.getMethod()).as(name).isEqualTo(sourceEntry.getMethod());
+        assertThat(entry.getCompressedSize()).as(name).isEqualTo(sourceEntry.getCompressedSize());
+        assertThat(entry.getCrc()).as(name).isEqualTo(sourceEntry.getCrc());
+
+        try (InputStream in = zipFile.getInputStream(entry); InputStream expected = sourceFile.getInputStream(sourceEntry)) {
+            assertThat(in).as(name).hasSameContentAs(expected);
+        }
+    }
+
+    private static void putEntry(ZipArchiveOutputStream out, String name, byte[] content, int method) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setMethod(method);
+
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setCrc(crc.getValue());
+            entry.setSize(content.length);
+        }
+
+        out.putArchiveEntry(entry);
+        out.write(content);
+        out.closeArchiveEntry();
+    }
+
+    private static byte[] random(int size) {
+        byte[] content = new byte[size];
+        new Random(0).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] repeated(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha1(byte[] content) throws NoSuchAlgorithmException {
+        return String.format("%040x", new BigInteger(1, MessageDigest.getInstance("sha1").digest(content)));
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return String.format("%064x", new BigInteger(1, MessageDigest.getInstance("sha-256").digest(content)));
+    }
+
+    private static Mono<Void> write(WritableByteChannel channel, byte[] content) {
+        return Mono.fromRunnable(() -> {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+    }
+
+    private void assertHashes(byte[] content) throws IOException, NoSuchAlgorithmException {
+        Path file = this.folder.getRoot().toPath().resolve("content.bin");
+        Files.write(file, content);
+
+        assertThat(FileUtils.hashes(file, "sha1", "sha-256"))
+            .containsEntry("sha1", sha1(content))
+            .containsEntry("sha-256", sha256(content));
+        assertThat(FileUtils.hash(file)).isEqualTo(sha1(content));
+        assertThat(FileUtils.hash(new ByteArrayInputStream(content), content.length)).isEqualTo(sha1(content));
+    }
+
+    private Path createArchive() throws IOException {
+        Path archive = this.folder.getRoot().toPath().resolve("source.zip");
+
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(archive.toFile())) {
+            putEntry(out, "filtered.txt", repeated("test-filtered-content\n", 10), ZipEntry.DEFLATED);
+            putEntry(out, "large.txt", repeated("test-large-content\n", 100_000), ZipEntry.DEFLATED);
+            putEntry(out, "library.jar", random(10_000), ZipEntry.STORED);
+        }
+
+        return archive;
+    }
+
+    private Path createApplication() throws IOException {
+        Path application = this.folder.newFolder().toPath();
+        Path directory = Files.createDirectory(application.resolve("directory"));
+
+        Files.write(application.resolve("filtered.txt"), repeated("test-filtered-content\n", 10));
+        Files.write(application.resolve("random.bin"), random(1_024));
+        Files.write(application.resolve("small.txt"), repeated("test-small-content\n", 100));
+        Files.write(directory.resolve("large.txt"), repeated("test-large-content\n", 100_000));
+        Files.write(directory.resolve("library.jar"), random(10_000));
+
+        return application;
+    }
+
+}
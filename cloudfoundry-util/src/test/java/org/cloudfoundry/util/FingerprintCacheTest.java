@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class FingerprintCacheTest {
+
+    private static final String HASH = "0123456789abcdef0123456789abcdef01234567";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void hash() throws IOException {
+        Path file = this.folder.newFile().toPath();
+        Files.write(file, "test-content".getBytes(StandardCharsets.UTF_8));
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(this.folder.getRoot().toPath().resolve("index"))) {
+            assertThat(fingerprintCache.hash(file)).isEqualTo(FileUtils.hash(file));
+        }
+    }
+
+    @Test
+    public void hashCached() throws IOException {
+        Path file = this.folder.newFile().toPath();
+        FileTime lastModified = FileTime.from(Instant.now().minus(Duration.ofMinutes(1)));
+        write(file, "test-content-1", lastModified);
+        String hash = FileUtils.hash(file);
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(this.folder.getRoot().toPath().resolve("index"))) {
+            assertThat(fingerprintCache.hash(file)).isEqualTo(hash);
+            write(file, "test-content-2", lastModified);
+            assertThat(fingerprintCache.hash(file)).isEqualTo(hash);
+        }
+    }
+
+    @Test
+    public void hashChanged() {
+        AtomicInteger count = new AtomicInteger();
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(this.folder.getRoot().toPath().resolve("index"))) {
+            assertThat(fingerprintCache.hash("test-key", 1, 2, () -> hash(count))).isEqualTo(HASH);
+            assertThat(fingerprintCache.hash("test-key", 1, 3, () -> hash(count))).isEqualTo(HASH);
+            assertThat(fingerprintCache.hash("test-key", 4, 3, () -> hash(count))).isEqualTo(HASH);
+        }
+
+        assertThat(count).hasValue(3);
+    }
+
+    @Test
+    public void hashPersisted() {
+        Path index = this.folder.getRoot().toPath().resolve("index");
+        AtomicInteger count = new AtomicInteger();
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(index)) {
+            assertThat(fingerprintCache.hash("test-key", 1, 2, () -> hash(count))).isEqualTo(HASH);
+        }
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(index)) {
+            assertThat(fingerprintCache.hash("test-key", 1, 2, () -> hash(count))).isEqualTo(HASH);
+        }
+
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    public void hashRacy() throws IOException {
+        Path file = this.folder.newFile().toPath();
+        FileTime lastModified = FileTime.from(Instant.now());
+        write(file, "test-content-1", lastModified);
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(this.folder.getRoot().toPath().resolve("index"))) {
+            assertThat(fingerprintCache.hash(file)).isEqualTo(FileUtils.hash(file));
+            write(file, "test-content-2", lastModified);
+            assertThat(fingerprintCache.hash(file)).isEqualTo(FileUtils.hash(file));
+        }
+    }
+
+    @Test
+    public void invalidIndex() throws IOException {
+        Path index = this.folder.newFile().toPath();
+        Files.write(index, "test-invalid-index".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger count = new AtomicInteger();
+
+        try (FingerprintCache fingerprintCache = FingerprintCache.open(index)) {
+            assertThat(fingerprintCache.hash("test-key", 1, 2, () -> hash(count))).isEqualTo(HASH);
+        }
+
+        assertThat(count).hasValue(1);
+    }
+
+    private static String hash(AtomicInteger count) {
+        count.incrementAndGet();
+        return HASH;
+    }
+
+    private static void write(Path file, String content, FileTime lastModified) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+    }
+
+}
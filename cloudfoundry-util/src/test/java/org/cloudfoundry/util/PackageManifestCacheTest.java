@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class PackageManifestCacheTest {
+
+    private static final List<ResourceMatchingUtils.ArtifactMetadata> MANIFEST = Arrays.asList(
+        new ResourceMatchingUtils.ArtifactMetadata("test-hash-1", "test-path-1", "rw-r--r--", 1),
+        new ResourceMatchingUtils.ArtifactMetadata("test-hash-2", "test-path-2", "rwxr-xr-x", 2));
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void get() {
+        Path directory = this.folder.getRoot().toPath().resolve("manifests");
+        PackageManifestCache.open(directory).put("test-application-id", "test-package-version", MANIFEST);
+
+        assertThat(PackageManifestCache.open(directory).get("test-application-id", "test-package-version")).hasValueSatisfying(manifest -> {
+            assertThat(manifest).extracting(ResourceMatchingUtils.ArtifactMetadata::getHash).containsExactly("test-hash-1", "test-hash-2");
+            assertThat(manifest).extracting(ResourceMatchingUtils.ArtifactMetadata::getPath).containsExactly("test-path-1", "test-path-2");
+            assertThat(manifest).extracting(ResourceMatchingUtils.ArtifactMetadata::getPermissions).containsExactly("rw-r--r--", "rwxr-xr-x");
+            assertThat(manifest).extracting(ResourceMatchingUtils.ArtifactMetadata::getSize).containsExactly(1, 2);
+        });
+    }
+
+    @Test
+    public void getInvalid() throws IOException {
+        Path directory = this.folder.newFolder().toPath();
+        Files.write(directory.resolve("test-application-id"), "test-invalid-manifest".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(PackageManifestCache.open(directory).get("test-application-id", "test-package-version")).isEmpty();
+    }
+
+    @Test
+    public void getMissing() {
+        assertThat(PackageManifestCache.open(this.folder.getRoot().toPath()).get("test-application-id", "test-package-version")).isEmpty();
+    }
+
+    @Test
+    public void getStaleVersion() {
+        PackageManifestCache packageManifestCache = PackageManifestCache.open(this.folder.getRoot().toPath());
+        packageManifestCache.put("test-application-id", "test-package-version", MANIFEST);
+
+        assertThat(packageManifestCache.get("test-application-id", "test-other-package-version")).isEmpty();
+    }
+
+}
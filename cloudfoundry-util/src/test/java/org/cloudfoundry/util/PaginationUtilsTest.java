@@ -29,6 +29,11 @@ import org.cloudfoundry.client.v3.packages.PackageResource;
 import org.cloudfoundry.client.v3.packages.PackageState;
 import org.cloudfoundry.client.v3.packages.PackageType;
 import org.cloudfoundry.client.v3.packages.Packages;
+import org.cloudfoundry.logcache.v1.LogCacheClient;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.cloudfoundry.loggregator.v2.Envelope;
+import org.cloudfoundry.loggregator.v2.EnvelopeBatch;
 import org.cloudfoundry.uaa.users.ListUsersRequest;
 import org.cloudfoundry.uaa.users.ListUsersResponse;
 import org.cloudfoundry.uaa.users.Meta;
@@ -40,6 +45,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.TimeoutException;
 
@@ -119,6 +125,73 @@ public final class PaginationUtilsTest {
             .verify(Duration.ofSeconds(1));
     }
 
+    @Test
+    public void requestLogCacheEnvelopes() {
+        LogCacheClient logCacheClient = mock(LogCacheClient.class, RETURNS_SMART_NULLS);
+
+        requestRead(logCacheClient, false, 0L, 10L, 2, 1L, 2L);
+        requestRead(logCacheClient, false, 2L, 10L, 3, 2L, 5L);
+        requestRead(logCacheClient, false, 10L, 20L, 2, 12L);
+
+        PaginationUtils
+            .requestLogCacheEnvelopes(logCacheClient::read, ReadRequest.builder()
+                .endTime(20L)
+                .limit(2)
+                .sourceId("test-source-id")
+                .startTime(0L)
+                .build(), Duration.ofNanos(10), 2)
+            .map(Envelope::getTimestamp)
+            .as(StepVerifier::create)
+            .expectNext(1L, 2L, 5L, 12L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestLogCacheEnvelopesDescending() {
+        LogCacheClient logCacheClient = mock(LogCacheClient.class, RETURNS_SMART_NULLS);
+
+        requestRead(logCacheClient, true, 10L, 20L, 2, 15L, 12L);
+        requestRead(logCacheClient, true, 10L, 13L, 3, 12L, 11L);
+        requestRead(logCacheClient, true, 0L, 10L, 2);
+
+        PaginationUtils
+            .requestLogCacheEnvelopes(logCacheClient::read, ReadRequest.builder()
+                .descending(true)
+                .endTime(20L)
+                .limit(2)
+                .sourceId("test-source-id")
+                .startTime(0L)
+                .build(), Duration.ofNanos(10), 2)
+            .map(Envelope::getTimestamp)
+            .as(StepVerifier::create)
+            .expectNext(15L, 12L, 11L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void requestLogCacheEnvelopesSharedTimestamp() {
+        LogCacheClient logCacheClient = mock(LogCacheClient.class, RETURNS_SMART_NULLS);
+
+        requestRead(logCacheClient, false, 0L, 10L, 2, 1L, 1L);
+        requestRead(logCacheClient, false, 1L, 10L, 4, 1L, 1L, 1L, 3L);
+        requestRead(logCacheClient, false, 3L, 10L, 3, 3L);
+
+        PaginationUtils
+            .requestLogCacheEnvelopes(logCacheClient::read, ReadRequest.builder()
+                .endTime(10L)
+                .limit(2)
+                .sourceId("test-source-id")
+                .startTime(0L)
+                .build(), Duration.ofNanos(10), 2)
+            .map(Envelope::getTimestamp)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L, 1L, 3L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
     @Test
     public void requestUaaResources() {
         Users users = mock(Users.class, RETURNS_SMART_NULLS);
@@ -261,4 +334,26 @@ public final class PaginationUtilsTest {
                     .build()));
     }
 
+    private static void requestRead(LogCacheClient logCacheClient, boolean descending, Long startTime, Long endTime, int limit, Long... timestamps) {
+        when(logCacheClient
+            .read(ReadRequest.builder()
+                .descending(descending)
+                .endTime(endTime)
+                .limit(limit)
+                .sourceId("test-source-id")
+                .startTime(startTime)
+                .build()))
+            .thenReturn(Mono
+                .just(ReadResponse.builder()
+                    .envelopes(EnvelopeBatch.builder()
+                        .batch(Arrays.stream(timestamps)
+                            .map(timestamp -> Envelope.builder()
+                                .sourceId("test-source-id")
+                                .timestamp(timestamp)
+                                .build())
+                            .toArray(Envelope[]::new))
+                        .build())
+                    .build()));
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the throughput of fingerprinting a synthetic application of many small files.  The class name does not match the test includes, so it only runs when selected explicitly, e.g.
+ * {@code mvn -pl cloudfoundry-util test -Dtest=ResourceMatchingUtilsBenchmark}.
+ */
+public final class ResourceMatchingUtilsBenchmark {
+
+    private static final int DIRECTORY_COUNT = 100;
+
+    private static final int FILE_COUNT = 10_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("cloudfoundry-client.test");
+
+    private static final int RUNS = 5;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getArtifactMetadataFromDirectory() throws IOException {
+        Path application = this.folder.newFolder().toPath();
+
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Path directory = Files.createDirectories(application.resolve(String.format("directory-%d", i % DIRECTORY_COUNT)));
+            Files.write(directory.resolve(String.format("file-%d", i)), String.format("test-content-%d", i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            Long count = ResourceMatchingUtils.getArtifactMetadata(application)
+                .count()
+                .block(Duration.ofMinutes(5));
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(count).isEqualTo(FILE_COUNT);
+
+            if (run == 0) {
+                LOGGER.info("Warm up: {} files in {} ms", count, elapsed.toMillis());
+            } else {
+                LOGGER.info("Run {}: {} files in {} ms ({} files/s)", run, count, elapsed.toMillis(), count * 1_000_000_000L / Math.max(1, elapsed.toNanos()));
+            }
+        }
+    }
+
+}
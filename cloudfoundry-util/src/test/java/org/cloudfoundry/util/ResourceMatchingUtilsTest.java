@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cloudfoundry.util;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.cloudfoundry.util.ResourceMatchingUtils.ArtifactMetadata;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class ResourceMatchingUtilsTest {
+
+    private static final int DIRECTORY_COUNT = 10;
+
+    private static final int FILE_COUNT = 100;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getArtifactMetadataFromDirectory() throws IOException {
+        Path application = this.folder.newFolder().toPath();
+
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Path directory = Files.createDirectories(application.resolve(String.format("directory-%d", i % DIRECTORY_COUNT)));
+            Files.write(directory.resolve(String.format("file-%d", i)), content(i));
+        }
+
+        ResourceMatchingUtils.getArtifactMetadata(application)
+            .collectMap(ArtifactMetadata::getPath)
+            .as(StepVerifier::create)
+            .consumeNextWith(artifactMetadatas -> {
+                assertThat(artifactMetadatas).hasSize(FILE_COUNT);
+                assertThat(artifactMetadatas.get("directory-2/file-42").getHash()).isEqualTo(FileUtils.hash(application.resolve("directory-2/file-42")));
+                assertThat(artifactMetadatas.get("directory-2/file-42").getSize()).isEqualTo(content(42).length);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void getArtifactMetadataFromZip() throws IOException {
+        Path application = this.folder.newFile("application.zip").toPath();
+
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(application.toFile())) {
+            out.putArchiveEntry(new ZipArchiveEntry("directory/"));
+            out.closeArchiveEntry();
+
+            for (int i = 0; i < DIRECTORY_COUNT; i++) {
+                out.putArchiveEntry(new ZipArchiveEntry(String.format("directory/file-%d", i)));
+                out.write(content(i));
+                out.closeArchiveEntry();
+            }
+        }
+
+        ResourceMatchingUtils.getArtifactMetadata(application)
+            .collectMap(ArtifactMetadata::getPath)
+            .as(StepVerifier::create)
+            .consumeNextWith(artifactMetadatas -> {
+                assertThat(artifactMetadatas).hasSize(DIRECTORY_COUNT);
+                assertThat(artifactMetadatas.get("directory/file-4").getHash()).isEqualTo(FileUtils.hash(new ByteArrayInputStream(content(4))));
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static byte[] content(int i) {
+        return String.format("test-content-%d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+}
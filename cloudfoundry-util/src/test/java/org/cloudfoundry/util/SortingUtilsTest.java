@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.Duration;
+import java.util.Comparator;
+
+public final class SortingUtilsTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private static final Comparator<String> SECOND_CHARACTER = Comparator.comparing(s -> s.charAt(1));
+
+    @Test
+    public void partitioned() {
+        Flux.just("a1", "b3", "a2", "b4", "a5", "b6")
+            .compose(SortingUtils.partitioned(s -> s.charAt(0), SECOND_CHARACTER, 10))
+            .as(StepVerifier::create)
+            .expectNext("a1", "a2", "b3", "b4", "a5", "b6")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void partitionedLagging() {
+        TestPublisher<String> publisher = TestPublisher.create();
+
+        publisher.flux()
+            .compose(SortingUtils.partitioned(s -> s.charAt(0), SECOND_CHARACTER, 10))
+            .as(StepVerifier::create)
+            .then(() -> publisher.next("a1", "b2", "a3", "a5", "a7", "a9"))
+            .expectNext("a1", "b2")
+            .then(() -> publisher.next("b4"))
+            .expectNext("a3", "b4")
+            .then(publisher::complete)
+            .expectNext("a5", "a7", "a9")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void partitionedMaximumSize() {
+        TestPublisher<String> publisher = TestPublisher.create();
+
+        publisher.flux()
+            .compose(SortingUtils.partitioned(s -> s.charAt(0), SECOND_CHARACTER, 2))
+            .as(StepVerifier::create)
+            .then(() -> publisher.next("b1", "a2", "a3"))
+            .expectNext("b1")
+            .then(() -> publisher.next("a4"))
+            .expectNext("a2")
+            .then(() -> publisher.next("b5"))
+            .expectNext("a3", "a4")
+            .then(publisher::complete)
+            .expectNext("b5")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermark() {
+        Flux.just(3L, 1L, 2L)
+            .compose(SortingUtils.watermark(Long::longValue, Duration.ofSeconds(1), 10))
+            .as(StepVerifier::create)
+            .expectNext(1L, 2L, 3L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkAdvance() {
+        TestPublisher<Long> publisher = TestPublisher.create();
+
+        publisher.flux()
+            .compose(SortingUtils.watermark(Long::longValue, Duration.ofSeconds(1), 10))
+            .as(StepVerifier::create)
+            .then(() -> publisher.next(2 * SECOND, SECOND))
+            .then(() -> publisher.next(5 * SECOND))
+            .expectNext(SECOND, 2 * SECOND)
+            .then(publisher::complete)
+            .expectNext(5 * SECOND)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkError() {
+        Flux.just(1L)
+            .concatWith(Flux.error(new IllegalStateException("test-error")))
+            .compose(SortingUtils.watermark(Long::longValue, Duration.ofSeconds(1), 10))
+            .as(StepVerifier::create)
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkIdle() {
+        StepVerifier.withVirtualTime(() -> Flux.just(1L)
+            .concatWith(Flux.never())
+            .compose(SortingUtils.watermark(Long::longValue, Duration.ofSeconds(1), 10)))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(750))
+            .thenAwait(Duration.ofMillis(250))
+            .expectNext(1L)
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void watermarkMaximumSize() {
+        TestPublisher<Long> publisher = TestPublisher.create();
+
+        publisher.flux()
+            .compose(SortingUtils.watermark(Long::longValue, Duration.ofHours(1), 2))
+            .as(StepVerifier::create)
+            .then(() -> publisher.next(3L, 2L, 1L))
+            .expectNext(1L)
+            .then(publisher::complete)
+            .expectNext(2L, 3L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.cloudfoundry.util;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class StatusPollerTest {
+
+    @Test
+    public void batches() {
+        List<Set<String>> requests = new CopyOnWriteArrayList<>();
+
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> {
+            requests.add(new HashSet<>(keys));
+            String status = requests.size() < 2 ? "in progress" : "complete";
+
+            return Flux.fromIterable(keys)
+                .map(key -> Tuples.of(key, status));
+        }, "complete"::equals);
+
+        StepVerifier.withVirtualTime(() -> Flux.merge(poller.waitFor("test-key-1", Duration.ofMinutes(1)), poller.waitFor("test-key-2", Duration.ofMinutes(1))))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(1)))
+            .expectNext("complete", "complete")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(requests).containsExactly(Collections.singleton("test-key-1"), new HashSet<>(Arrays.asList("test-key-1", "test-key-2")));
+    }
+
+    @Test
+    public void missing() {
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> Flux.empty(), "complete"::equals);
+
+        poller
+            .waitFor("test-key", Duration.ofMinutes(1))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(poller.size()).isZero();
+    }
+
+    @Test
+    public void newKeyCutsDelayShort() {
+        List<Set<String>> requests = new CopyOnWriteArrayList<>();
+
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> {
+            requests.add(new HashSet<>(keys));
+
+            return Flux.fromIterable(keys)
+                .map(key -> Tuples.of(key, "test-key-2".equals(key) ? "complete" : "in progress"));
+        }, "complete"::equals);
+
+        StepVerifier.withVirtualTime(() -> Flux.merge(poller.waitFor("test-key-1", Duration.ofMinutes(1)), Mono.delay(Duration.ofSeconds(4))
+            .then(poller.waitFor("test-key-2", Duration.ofMinutes(1)))))
+            .expectSubscription()
+            .thenAwait(Duration.ofSeconds(5))
+            .expectNext("complete")
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(3)).containsOnly("test-key-1", "test-key-2");
+    }
+
+    @Test
+    public void newKeysCoalesced() {
+        List<Set<String>> requests = new CopyOnWriteArrayList<>();
+
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> {
+            requests.add(new HashSet<>(keys));
+
+            return Flux.fromIterable(keys)
+                .map(key -> Tuples.of(key, "in progress"));
+        }, "complete"::equals);
+
+        StepVerifier.withVirtualTime(() -> Flux.range(0, 100)
+            .flatMap(i -> Mono.delay(Duration.ofMillis(100 * i))
+                .then(poller.waitFor(String.format("test-key-%d", i), Duration.ofMinutes(1)))))
+            .expectSubscription()
+            .thenAwait(Duration.ofSeconds(20))
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(requests.size()).isLessThan(15);
+        assertThat(requests.get(requests.size() - 1)).hasSize(100);
+    }
+
+    @Test
+    public void retriesError() {
+        List<Set<String>> requests = new CopyOnWriteArrayList<>();
+
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> {
+            requests.add(keys);
+
+            if (requests.size() < 2) {
+                return Flux.error(new IllegalStateException("test-message"));
+            }
+
+            return Flux.fromIterable(keys)
+                .map(key -> Tuples.of(key, "complete"));
+        }, "complete"::equals);
+
+        StepVerifier.withVirtualTime(() -> poller.waitFor("test-key", Duration.ofMinutes(1)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(1)))
+            .expectNext("complete")
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void timeout() {
+        StatusPoller<String, String> poller = new StatusPoller<>(Duration.ofSeconds(1), Duration.ofSeconds(15), keys -> Flux.fromIterable(keys)
+            .map(key -> Tuples.of(key, "in progress")), "complete"::equals);
+
+        StepVerifier.withVirtualTime(() -> poller.waitFor("test-key", Duration.ofSeconds(10)))
+            .then(() -> VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(10)))
+            .expectError(DelayTimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(poller.size()).isZero();
+    }
+
+}